@@ -0,0 +1,70 @@
+package com.edi.validator.benchmarks;
+
+import com.edi.validator.EDI834Generator;
+import com.edi.validator.EDI834Validator;
+import com.edi.validator.EDIValidator;
+import com.edi.validator.ValidationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EDI834Validator#validate(String)} on files from {@link EDI834Generator} of 10K, 1M and
+ * 10M segments (about 240 KB, 24 MB and 240 MB), sequentially and with parallel member loops. Errors are
+ * counted through a sink so the result list does not affect the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int segments;
+
+    private final EDIValidator validator = new EDI834Validator();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        EDI834Generator generator = new EDI834Generator().withCoveragesPerMember(2);
+        file = Files.createTempFile("synthetic-834-" + segments + "-", ".edi");
+        generator.withMembers(generator.membersFor(segments)).write(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long validate() {
+        ValidationContext context = new ValidationContext(error -> { });
+        validator.validate(file.toString(), context);
+        return context.getErrorCount();
+    }
+
+    @Benchmark
+    public long validateParallel() {
+        ValidationContext context = new ValidationContext(error -> { });
+        validator.validate(file.toString(), context, ForkJoinPool.commonPool(), EDIValidator.DEFAULT_MEMBERS_PER_BATCH);
+        return context.getErrorCount();
+    }
+}
\ No newline at end of file
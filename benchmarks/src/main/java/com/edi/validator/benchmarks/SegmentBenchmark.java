@@ -0,0 +1,88 @@
+package com.edi.validator.benchmarks;
+
+import com.edi.validator.EDI834Generator;
+import com.edi.validator.EDISegmentFactory;
+import com.edi.validator.SegmentTokenizer;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.RawSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting segments into elements: the tokenizer over an in-memory generated file, building
+ * a segment model from a line, and reading every field of a built segment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentBenchmark {
+    private static final int MEMBER_LOOPS = 1000;
+    private static final String NM1 = "NM1*IL*1*DOE*JOHN*Q***34*123456789";
+
+    private byte[] memberLoops;
+    private EDISegment nm1;
+
+    @Setup
+    public void setUp() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new EDI834Generator().withMembers(MEMBER_LOOPS).write(out);
+        memberLoops = out.toByteArray();
+        nm1 = EDISegmentFactory.createSegment("NM1", NM1, 1);
+    }
+
+    /**
+     * Tokenizes a file of {@value #MEMBER_LOOPS} member loops; divide by the segment count for a per-segment cost.
+     */
+    @Benchmark
+    public int tokenize() throws IOException {
+        int fields = 0;
+        try (SegmentTokenizer tokenizer = new SegmentTokenizer(new ByteArrayInputStream(memberLoops))) {
+            RawSegment raw;
+            while ((raw = tokenizer.next()) != null) {
+                fields += raw.getFieldCount();
+            }
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public EDISegment createSegment() {
+        return EDISegmentFactory.createSegment("NM1", NM1, 1);
+    }
+
+    @Benchmark
+    public void readAllFields(Blackhole blackhole) {
+        for (int i = 1; i < nm1.getFieldCount(); i++) {
+            blackhole.consume(nm1.getField(i));
+        }
+    }
+
+    @Benchmark
+    public int compareFields() {
+        int matches = 0;
+        if (nm1.fieldEquals(1, "IL")) {
+            matches++;
+        }
+        if (nm1.fieldEquals(8, "34")) {
+            matches++;
+        }
+        return matches;
+    }
+}
\ No newline at end of file
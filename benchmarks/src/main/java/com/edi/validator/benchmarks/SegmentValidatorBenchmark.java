@@ -0,0 +1,85 @@
+package com.edi.validator.benchmarks;
+
+import com.edi.validator.EDISegmentFactory;
+import com.edi.validator.EDISegmentValidatorFactory;
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code validate} call per segment validator, on a segment that passes every check
+ * ({@code valid}) and on one that fails most of them ({@code invalid}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentValidatorBenchmark {
+    private static final Map<String, String[]> SAMPLES = new HashMap<>();
+
+    static {
+        SAMPLES.put("INS", new String[] {"INS*Y*18*030*28*A*E*A*F*N*N*D8*20230101*N", "INS*X*00*999*XN*Q*Q*Q*Q*Q*Q*Q*2023AB01*Q"});
+        SAMPLES.put("HD", new String[] {"HD*030*HLT*HLT*PPO*IND", "HD*999*XXX*XXX*XXX*XXX"});
+        SAMPLES.put("SV1", new String[] {"SV1*HC99213*100.00*UN*1.5*11*A*1", "SV1*XX99213*100*QQ*1*00*#*0"});
+        SAMPLES.put("SV2", new String[] {"SV2*120*HC99213*100.00*UN*1.5*11*A*1", "SV2*12*XX99213*100*QQ*1*00*#*0"});
+        for (int i = 3; i <= 8; i++) {
+            SAMPLES.put("SV" + i, new String[] {"SV" + i + "*HC99213*100.00*11*A*1", "SV" + i + "*XX99213*100*00*#*0"});
+        }
+    }
+
+    @Param({"INS", "HD", "SV1", "SV2", "SV3", "SV4", "SV5", "SV6", "SV7", "SV8"})
+    public String segmentCode;
+
+    private EDISegmentValidator validator;
+    private EDISegment valid;
+    private EDISegment invalid;
+    private final CountingSink sink = new CountingSink();
+
+    @Setup
+    public void setUp() {
+        validator = EDISegmentValidatorFactory.getValidator(segmentCode);
+        valid = EDISegmentFactory.createSegment(segmentCode, SAMPLES.get(segmentCode)[0], 1);
+        invalid = EDISegmentFactory.createSegment(segmentCode, SAMPLES.get(segmentCode)[1], 2);
+    }
+
+    @Benchmark
+    public int valid() {
+        sink.count = 0;
+        validator.validate(valid, sink);
+        return sink.count;
+    }
+
+    @Benchmark
+    public int invalid() {
+        sink.count = 0;
+        validator.validate(invalid, sink);
+        return sink.count;
+    }
+
+    private static final class CountingSink implements ValidationErrorSink {
+        private int count;
+
+        @Override
+        public void accept(ValidationError error) {
+            count++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.edi.validator.benchmarks;
+
+import com.edi.validator.EDISegmentFactory;
+import com.edi.validator.EDISegmentValidatorFactory;
+import com.edi.validator.SegmentDispatchTable;
+import com.edi.validator.model.RawSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the validator for the segment codes of one member loop, in file order:
+ * {@link EDISegmentValidatorFactory#getValidator(String)} with fresh strings, as they are when
+ * read from a file, so their hash codes are not cached, against {@link SegmentDispatchTable}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorLookupBenchmark {
+    private static final String[] MEMBER_LOOP = {"INS", "REF", "DTP", "NM1", "DMG", "HD", "DTP", "AMT"};
+
+    private SegmentDispatchTable table;
+    private RawSegment[] segments;
+
+    @Setup
+    public void setUp() {
+        SegmentDispatchTable.Builder builder = SegmentDispatchTable.builder();
+        EDISegmentValidatorFactory.getValidators().forEach((tag, validator) -> builder.add(tag,
+            EDISegmentFactory.getConstructors().get(tag), validator));
+        table = builder.build();
+        segments = new RawSegment[MEMBER_LOOP.length];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = RawSegment.parse(MEMBER_LOOP[i] + "*X", (byte) '*');
+        }
+    }
+
+    @Benchmark
+    public void getValidator(Blackhole blackhole) {
+        for (String code : MEMBER_LOOP) {
+            blackhole.consume(EDISegmentValidatorFactory.getValidator(new String(code.toCharArray())));
+        }
+    }
+
+    /**
+     * The lookup {@code EDIValidator} makes, straight from the tag bytes.
+     */
+    @Benchmark
+    public void dispatchTable(Blackhole blackhole) {
+        for (RawSegment segment : segments) {
+            blackhole.consume(table.lookup(segment).getValidator());
+        }
+    }
+}
\ No newline at end of file
@@ -1,58 +1,47 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.AMTSegment;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class AMTSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(AMTSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(AMTSegment.SEGMENT_CODE,
+        "Fields", "AMT segment has insufficient fields (expected 3, found {})");
+
+    private static final CodeList AMOUNT_QUALIFIER_CODES = CodeList.of("D2", "P3", "T3", "T4", "T5", "T6", "T7", "T8", "T9");
+    private static final CodeList CREDIT_DEBIT_FLAG_CODES = CodeList.of("C", "D");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(AMTSegment.SEGMENT_CODE, 1, "Amount Qualifier", AMOUNT_QUALIFIER_CODES,
+            "Invalid amount qualifier in AMT segment: "),
+        ElementRule.of(AMTSegment.SEGMENT_CODE, 2, "Monetary Amount", Formats.MONETARY_AMOUNT,
+            "Invalid monetary amount format: ", " (must be a valid decimal number)"),
+        ElementRule.of(AMTSegment.SEGMENT_CODE, 3, "Credit Debit Flag Code", CREDIT_DEBIT_FLAG_CODES,
+            "Invalid credit debit flag code: ", " (must be C or D)").optional()
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof AMTSegment)) {
-            errors.add(new ValidationError(AMTSegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        AMTSegment amtSegment = (AMTSegment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 3) {
-            errors.add(new ValidationError(AMTSegment.SEGMENT_CODE, "Fields", 
-                "AMT segment has insufficient fields (expected 3, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate amount qualifier code
-        String amountQualifierCode = amtSegment.getAmountQualifierCode();
-        if (!amountQualifierCode.matches("^(D2|P3|T3|T4|T5|T6|T7|T8|T9)$")) {
-            errors.add(new ValidationError(AMTSegment.SEGMENT_CODE, "Amount Qualifier", "Invalid amount qualifier in AMT segment: " + amountQualifierCode, segment.getLineNumber()));
-        }
-
-        // Validate monetary amount
-        String monetaryAmount = amtSegment.getMonetaryAmount();
-        if (!monetaryAmount.matches("^\\d+(\\.\\d{2})?$")) {
-            errors.add(new ValidationError(AMTSegment.SEGMENT_CODE, "Monetary Amount",
-                "Invalid monetary amount format: " + monetaryAmount + " (must be a valid decimal number)",
-                segment.getLineNumber()));
-        }
-
-        // Validate credit debit flag code if present
-        String creditDebitFlagCode = amtSegment.getCreditDebitFlagCode();
-        if (creditDebitFlagCode != null && !creditDebitFlagCode.isEmpty()) {
-            if (!creditDebitFlagCode.matches("^(C|D)$")) {
-                errors.add(new ValidationError(AMTSegment.SEGMENT_CODE, "Credit Debit Flag Code",
-                    "Invalid credit debit flag code: " + creditDebitFlagCode + " (must be C or D)",
-                    segment.getLineNumber()));
-            }
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
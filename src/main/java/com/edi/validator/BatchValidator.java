@@ -0,0 +1,278 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validates many files on a fixed-size worker pool with one shared {@link EDIValidator}.
+ * Inputs may be files, directories (their regular files, not recursive) or glob patterns such
+ * as {@code intake/*.edi}. Each file's result is written as soon as it completes, and a
+ * throughput summary follows the last file. A file whose validation fails unexpectedly is
+ * reported as failed and counted in the summary; the other files are still validated.
+ */
+public class BatchValidator {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final EDIValidator validator;
+    private final int threads;
+    private final ValidationLimits limits;
+    private final ValidationResultCache cache;
+
+    public BatchValidator(EDIValidator validator, int threads) {
+        this(validator, threads, ValidationLimits.NONE);
+    }
+
+    /**
+     * @param limits Applied to each file on its own
+     */
+    public BatchValidator(EDIValidator validator, int threads, ValidationLimits limits) {
+        this(validator, threads, limits, null);
+    }
+
+    /**
+     * @param limits Applied to each file on its own
+     * @param cache Results of files validated before, reused for byte-identical files; may be null
+     */
+    public BatchValidator(EDIValidator validator, int threads, ValidationLimits limits, ValidationResultCache cache) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.validator = validator;
+        this.threads = threads;
+        this.limits = limits;
+        this.cache = cache;
+    }
+
+    /**
+     * Validates every file matched by {@code inputs} and writes the results to {@code out}.
+     * @param inputs File paths, directories or glob patterns
+     * @param out Receives one block per file in completion order, then the summary
+     * @return The aggregate counts
+     */
+    public Summary run(List<String> inputs, PrintStream out) throws IOException, InterruptedException {
+        List<Path> files = expand(inputs);
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<FileResult> completion = new ExecutorCompletionService<>(executor);
+            for (Path file : files) {
+                completion.submit(() -> validateFile(file));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                FileResult result = completion.take().get();
+                summary.add(result);
+                result.print(out);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        summary.elapsedNanos = System.nanoTime() - start;
+        summary.print(out);
+        return summary;
+    }
+
+    private FileResult validateFile(Path file) {
+        long bytes;
+        try {
+            bytes = Files.size(file);
+        } catch (IOException e) {
+            // The validator reports the unreadable file as an error of its own
+            bytes = 0;
+        }
+        ValidationContext context = new ValidationContext(limits);
+        long start = System.nanoTime();
+        try {
+            List<ValidationError> errors = cache != null
+                ? validator.validate(file.toString(), context, cache)
+                : validator.validate(file.toString(), context);
+            return new FileResult(file, errors, context.getSegmentCount(), bytes, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            // One broken file must not cost the results of the others
+            return new FileResult(file, e, context.getSegmentCount(), bytes, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Resolves files, directories and glob patterns to a sorted, de-duplicated list of files.
+     */
+    static List<Path> expand(List<String> inputs) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            if (isGlob(input)) {
+                files.addAll(glob(input));
+                continue;
+            }
+            Path path = Paths.get(input);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    files.addAll(children.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+                }
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            } else {
+                throw new IOException("No such file or directory: " + input);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static boolean isGlob(String input) {
+        return input.indexOf('*') >= 0 || input.indexOf('?') >= 0
+            || input.indexOf('[') >= 0 || input.indexOf('{') >= 0;
+    }
+
+    private static List<Path> glob(String pattern) throws IOException {
+        // Walk from the deepest directory that contains no glob characters
+        String normalized = pattern.replace('\\', '/');
+        int firstGlob = 0;
+        while (!isGlob(String.valueOf(normalized.charAt(firstGlob)))) {
+            firstGlob++;
+        }
+        int slash = normalized.lastIndexOf('/', firstGlob);
+        Path base = slash < 0 ? Paths.get("") : Paths.get(normalized.substring(0, slash + 1));
+        String relative = normalized.substring(slash + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + relative);
+        Path root = base.toString().isEmpty() ? Paths.get(".") : base;
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                .filter(path -> matcher.matches(root.relativize(path)))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static final class FileResult {
+        private final Path file;
+        private final List<ValidationError> errors;
+        // Null unless validation failed, in which case errors is empty
+        private final RuntimeException failure;
+        private final int segments;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        FileResult(Path file, List<ValidationError> errors, int segments, long bytes, long elapsedNanos) {
+            this(file, errors, null, segments, bytes, elapsedNanos);
+        }
+
+        FileResult(Path file, RuntimeException failure, int segments, long bytes, long elapsedNanos) {
+            this(file, Collections.emptyList(), failure, segments, bytes, elapsedNanos);
+        }
+
+        private FileResult(Path file, List<ValidationError> errors, RuntimeException failure, int segments,
+                           long bytes, long elapsedNanos) {
+            this.file = file;
+            this.errors = errors;
+            this.failure = failure;
+            this.segments = segments;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void print(PrintStream out) {
+            if (failure != null) {
+                out.println("== " + file + ": validation failed: " + failure
+                    + " (" + segments + " segments, " + elapsedNanos / 1_000_000 + " ms)");
+                return;
+            }
+            out.println("== " + file + ": " + (errors.isEmpty() ? "valid" : errors.size() + " validation errors")
+                + " (" + segments + " segments, " + elapsedNanos / 1_000_000 + " ms)");
+            for (ValidationError error : errors) {
+                out.println("- Line " + error.getLineNumber() + " (" + error.getSegmentCode()
+                    + "): " + error.getField() + " - " + error.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aggregate counts and throughput of a batch run.
+     */
+    public static final class Summary {
+        private int files;
+        private int invalidFiles;
+        private int failedFiles;
+        private long errors;
+        private long segments;
+        private long bytes;
+        private long elapsedNanos;
+
+        private void add(FileResult result) {
+            files++;
+            if (result.failure != null) {
+                failedFiles++;
+            } else if (!result.errors.isEmpty()) {
+                invalidFiles++;
+            }
+            errors += result.errors.size();
+            segments += result.segments;
+            bytes += result.bytes;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        public int getInvalidFiles() {
+            return invalidFiles;
+        }
+
+        /**
+         * Returns the number of files whose validation failed with an exception; they are not
+         * counted as invalid.
+         */
+        public int getFailedFiles() {
+            return failedFiles;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getSegments() {
+            return segments;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        void print(PrintStream out) {
+            double seconds = Math.max(elapsedNanos, 1) / NANOS_PER_SECOND;
+            out.println(String.format(Locale.ROOT,
+                "Validated %d files (%d invalid, %d failed, %d errors), %d segments, %.1f MB in %.2f s",
+                files, invalidFiles, failedFiles, errors, segments, bytes / BYTES_PER_MB, seconds));
+            out.println(String.format(Locale.ROOT,
+                "Throughput: %.1f files/s, %.0f segments/s, %.2f MB/s",
+                files / seconds, segments / seconds, bytes / BYTES_PER_MB / seconds));
+        }
+    }
+}
\ No newline at end of file
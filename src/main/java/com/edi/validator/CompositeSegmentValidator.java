@@ -0,0 +1,48 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+
+import java.util.StringJoiner;
+
+/**
+ * Runs several validators for one segment code in order, stopping early once the sink
+ * accepts no more errors for the segment.
+ */
+final class CompositeSegmentValidator implements EDISegmentValidator {
+    private final String segmentCode;
+    private final EDISegmentValidator[] validators;
+
+    CompositeSegmentValidator(String segmentCode, EDISegmentValidator... validators) {
+        this.segmentCode = segmentCode;
+        this.validators = validators;
+    }
+
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        for (EDISegmentValidator validator : validators) {
+            if (!sink.acceptsMore()) {
+                return;
+            }
+            validator.validate(segment, sink);
+        }
+    }
+
+    @Override
+    public String getSegmentCode() {
+        return segmentCode;
+    }
+
+    /**
+     * Names the combined validators, in order, for the registry's ruleset ID.
+     */
+    @Override
+    public String toString() {
+        StringJoiner names = new StringJoiner(",", "[", "]");
+        for (EDISegmentValidator validator : validators) {
+            names.add(ValidatorRegistry.describe(validator));
+        }
+        return names.toString();
+    }
+}
\ No newline at end of file
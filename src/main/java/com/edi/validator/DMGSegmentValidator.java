@@ -1,38 +1,43 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.DMGSegment;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class DMGSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(DMGSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(DMGSegment.SEGMENT_CODE,
+        "Fields", "DMG segment has insufficient fields (expected 3, found {})");
 
-    @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        if (!(segment instanceof DMGSegment)) {
-            errors.add(new ValidationError(DMGSegment.SEGMENT_CODE, "Segment Type", "Invalid segment type", segment.getLineNumber()));
-            return errors;
-        }
+    private static final CodeList DATE_FORMAT_QUALIFIERS = CodeList.of("D8");
 
-        DMGSegment dmgSegment = (DMGSegment) segment;
+    private static final ElementRule[] RULES = {
+        ElementRule.of(DMGSegment.SEGMENT_CODE, 1, "Date Format", DATE_FORMAT_QUALIFIERS,
+            "Invalid date format qualifier in DMG segment: "),
+        ElementRule.of(DMGSegment.SEGMENT_CODE, 2, "Date", Formats.DATE_CCYYMMDD,
+            "Invalid DMG date format: ", " (must be CCYYMMDD)")
+    };
 
-        if (dmgSegment.getFields().size() < 3) {
-            errors.add(new ValidationError(DMGSegment.SEGMENT_CODE, "Fields", "DMG segment has insufficient fields (expected 3, found " + dmgSegment.getFields().size() + ")", segment.getLineNumber()));
-            return errors;
-        }
-
-        if (!"D8".equals(dmgSegment.getDateTimeFormatQualifier())) {
-            errors.add(new ValidationError(DMGSegment.SEGMENT_CODE, "Date Format", "Invalid date format qualifier in DMG segment: " + dmgSegment.getDateTimeFormatQualifier(), segment.getLineNumber()));
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof DMGSegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        if (!dmgSegment.getDate().matches("^\\d{8}$")) {
-            errors.add(new ValidationError(DMGSegment.SEGMENT_CODE, "Date", "Invalid DMG date format: " + dmgSegment.getDate() + " (must be CCYYMMDD)", segment.getLineNumber()));
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
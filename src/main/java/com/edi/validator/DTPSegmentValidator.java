@@ -1,38 +1,43 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.DTPSegment;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class DTPSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(DTPSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(DTPSegment.SEGMENT_CODE,
+        "Fields", "DTP segment has insufficient fields (expected 3, found {})");
 
-    @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        if (!(segment instanceof DTPSegment)) {
-            errors.add(new ValidationError(DTPSegment.SEGMENT_CODE, "Segment Type", "Invalid segment type", segment.getLineNumber()));
-            return errors;
-        }
+    private static final CodeList DATE_FORMAT_QUALIFIERS = CodeList.of("D8", "RD8");
 
-        DTPSegment dtpSegment = (DTPSegment) segment;
+    private static final ElementRule[] RULES = {
+        ElementRule.of(DTPSegment.SEGMENT_CODE, 2, "Date Format", DATE_FORMAT_QUALIFIERS,
+            "Invalid date format qualifier in DTP segment: "),
+        ElementRule.of(DTPSegment.SEGMENT_CODE, 3, "Date", Formats.dateByQualifier(2),
+            "Invalid DTP date format: ", " (must be CCYYMMDD, or CCYYMMDD-CCYYMMDD for RD8)")
+    };
 
-        if (dtpSegment.getFields().size() < 4) {
-            errors.add(new ValidationError(DTPSegment.SEGMENT_CODE, "Fields", "DTP segment has insufficient fields (expected 3, found " + dtpSegment.getFields().size() + ")", segment.getLineNumber()));
-            return errors;
-        }
-
-        if (!"D8".equals(dtpSegment.getDateTimeFormatQualifier())) {
-            errors.add(new ValidationError(DTPSegment.SEGMENT_CODE, "Date Format", "Invalid date format qualifier in DTP segment: " + dtpSegment.getDateTimeFormatQualifier(), segment.getLineNumber()));
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof DTPSegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        if (!dtpSegment.getDate().matches("^\\d{8}$")) {
-            errors.add(new ValidationError(DTPSegment.SEGMENT_CODE, "Date", "Invalid DTP date format: " + dtpSegment.getDate() + " (must be CCYYMMDD)", segment.getLineNumber()));
+        if (segment.getFieldCount() < 4) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
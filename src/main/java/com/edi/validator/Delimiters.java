@@ -0,0 +1,45 @@
+package com.edi.validator;
+
+/**
+ * The four X12 delimiters declared by an ISA header: element separator (ISA position 4),
+ * repetition separator (ISA11), component sub-element separator (ISA16) and the segment
+ * terminator that follows ISA16.
+ */
+public final class Delimiters {
+    public static final Delimiters DEFAULT = new Delimiters((byte) '*', (byte) ':', (byte) '^', (byte) '~');
+
+    private final byte elementSeparator;
+    private final byte componentSeparator;
+    private final byte repetitionSeparator;
+    private final byte segmentTerminator;
+
+    public Delimiters(byte elementSeparator, byte componentSeparator, byte repetitionSeparator, byte segmentTerminator) {
+        this.elementSeparator = elementSeparator;
+        this.componentSeparator = componentSeparator;
+        this.repetitionSeparator = repetitionSeparator;
+        this.segmentTerminator = segmentTerminator;
+    }
+
+    public byte getElementSeparator() {
+        return elementSeparator;
+    }
+
+    public byte getComponentSeparator() {
+        return componentSeparator;
+    }
+
+    public byte getRepetitionSeparator() {
+        return repetitionSeparator;
+    }
+
+    public byte getSegmentTerminator() {
+        return segmentTerminator;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("element='%c' component='%c' repetition='%c' segment='%c'",
+            (char) (elementSeparator & 0xFF), (char) (componentSeparator & 0xFF),
+            (char) (repetitionSeparator & 0xFF), (char) (segmentTerminator & 0xFF));
+    }
+}
@@ -0,0 +1,80 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.INSSegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.NM1Segment;
+import com.edi.validator.model.REFSegment;
+import com.edi.validator.model.SESegment;
+import com.edi.validator.model.STSegment;
+import com.edi.validator.model.ValidationError;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds subscriber and member IDs that are used by more than one INS member loop of a file. A
+ * subscriber ID is the REF*0F of a subscriber loop (INS01 = Y); dependents repeat their
+ * subscriber's REF*0F, so theirs are not checked. A member ID is the NM1*IL identification code
+ * with the MI qualifier. IDs are kept in an {@link IdIndex}, so a file with millions of members
+ * does not need millions of Strings.
+ */
+final class DuplicateIdDetector {
+    /** Segments the detector needs to see. */
+    static final Set<String> SEGMENT_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        STSegment.SEGMENT_CODE, INSSegment.SEGMENT_CODE, REFSegment.SEGMENT_CODE, NM1Segment.SEGMENT_CODE,
+        SESegment.SEGMENT_CODE
+    )));
+
+    private static final int DUPLICATE_SUBSCRIBER_ID = MessageCatalog.register(REFSegment.SEGMENT_CODE,
+        "Subscriber ID", "Duplicate subscriber ID {} (first used at line {})");
+    private static final int DUPLICATE_MEMBER_ID = MessageCatalog.register(NM1Segment.SEGMENT_CODE,
+        "Member ID", "Duplicate member ID {} (first used at line {})");
+
+    private static final String SUBSCRIBER_ID_QUALIFIER = "0F";
+    private static final String INSURED_ENTITY = "IL";
+    private static final String MEMBER_ID_QUALIFIER = "MI";
+
+    private final IdIndex subscriberIds = new IdIndex();
+    private final IdIndex memberIds = new IdIndex();
+    private boolean inMemberLoop;
+    private boolean subscriber;
+
+    void accept(EDISegment segment, ValidationErrorSink sink) {
+        switch (segment.getSegmentCode()) {
+            case INSSegment.SEGMENT_CODE:
+                inMemberLoop = true;
+                subscriber = segment.fieldEquals(1, "Y");
+                break;
+            case REFSegment.SEGMENT_CODE:
+                if (inMemberLoop && subscriber && segment.fieldEquals(1, SUBSCRIBER_ID_QUALIFIER)) {
+                    check(subscriberIds, segment, 2, DUPLICATE_SUBSCRIBER_ID, sink);
+                }
+                break;
+            case NM1Segment.SEGMENT_CODE:
+                if (inMemberLoop && segment.fieldEquals(1, INSURED_ENTITY)
+                        && segment.fieldEquals(8, MEMBER_ID_QUALIFIER)) {
+                    check(memberIds, segment, 9, DUPLICATE_MEMBER_ID, sink);
+                }
+                break;
+            default:
+                // ST, SE and the envelope segments end any member loop
+                inMemberLoop = false;
+                break;
+        }
+    }
+
+    private static void check(IdIndex ids, EDISegment segment, int index, int messageCode, ValidationErrorSink sink) {
+        if (segment.isFieldEmpty(index)) {
+            return;
+        }
+        int firstLine = ids.add(segment, index, segment.getLineNumber());
+        if (firstLine >= 0 && sink.acceptsMore()) {
+            sink.accept(new ValidationError(messageCode, index, new Object[] {segment.getField(index), firstLine},
+                segment.getLineNumber()));
+        }
+    }
+}
\ No newline at end of file
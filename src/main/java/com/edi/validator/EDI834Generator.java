@@ -0,0 +1,277 @@
+package com.edi.validator;
+
+import com.edi.validator.model.AMTSegment;
+import com.edi.validator.model.BGNSegment;
+import com.edi.validator.model.DMGSegment;
+import com.edi.validator.model.DTPSegment;
+import com.edi.validator.model.GSSegment;
+import com.edi.validator.model.HDSegment;
+import com.edi.validator.model.INSSegment;
+import com.edi.validator.model.ISASegment;
+import com.edi.validator.model.LESegment;
+import com.edi.validator.model.LSSegment;
+import com.edi.validator.model.LXSegment;
+import com.edi.validator.model.N1Segment;
+import com.edi.validator.model.NM1Segment;
+import com.edi.validator.model.PLASegment;
+import com.edi.validator.model.REFSegment;
+import com.edi.validator.model.STSegment;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic 834 interchanges for load, benchmark and soak testing. The output is one
+ * interchange with one transaction set holding the requested number of member loops, each with
+ * its demographic segments and one HD loop per coverage. Segments are written straight to the
+ * stream, one per line, so the file size is limited only by the disk.
+ *
+ * <p>With an error rate above zero, that fraction of member loops gets exactly one corrupted
+ * element, picked from the checks the segment validators make. Output depends only on the
+ * settings and the seed, so the same generator always writes the same bytes.</p>
+ *
+ * <pre>
+ * new EDI834Generator().withMembers(1_000_000).withCoveragesPerMember(3).withErrorRate(0.01)
+ *     .write(Paths.get("load-test.edi"));
+ * </pre>
+ */
+public final class EDI834Generator {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String[] INSURANCE_LINES = {"HLT", "DEN", "VIS"};
+    private static final String[] COVERAGE_LEVELS = {"EMP", "ESP", "FAM", "IND"};
+    private static final String[] LAST_NAMES = {"SMITH", "JOHNSON", "WILLIAMS", "BROWN", "JONES", "GARCIA", "MILLER", "DAVIS"};
+    private static final String[] FIRST_NAMES = {"JAMES", "MARY", "ROBERT", "PATRICIA", "JOHN", "JENNIFER", "MICHAEL", "LINDA"};
+    private static final int CORRUPTION_KINDS = 5;
+    /** Envelope, header, 2310 and LS/LE segments written once per file. */
+    private static final int FIXED_SEGMENTS = 14;
+
+    private final long members;
+    private final int coveragesPerMember;
+    private final double errorRate;
+    private final long seed;
+
+    public EDI834Generator() {
+        this(1000, 1, 0.0, 834);
+    }
+
+    private EDI834Generator(long members, int coveragesPerMember, double errorRate, long seed) {
+        if (members < 0) {
+            throw new IllegalArgumentException("members must not be negative");
+        }
+        if (coveragesPerMember < 1) {
+            throw new IllegalArgumentException("coveragesPerMember must be at least 1");
+        }
+        if (errorRate < 0.0 || errorRate > 1.0) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1");
+        }
+        this.members = members;
+        this.coveragesPerMember = coveragesPerMember;
+        this.errorRate = errorRate;
+        this.seed = seed;
+    }
+
+    public EDI834Generator withMembers(long members) {
+        return new EDI834Generator(members, coveragesPerMember, errorRate, seed);
+    }
+
+    public EDI834Generator withCoveragesPerMember(int coveragesPerMember) {
+        return new EDI834Generator(members, coveragesPerMember, errorRate, seed);
+    }
+
+    /**
+     * Corrupts one element in this fraction of member loops, from 0 (none) to 1 (every loop).
+     */
+    public EDI834Generator withErrorRate(double errorRate) {
+        return new EDI834Generator(members, coveragesPerMember, errorRate, seed);
+    }
+
+    public EDI834Generator withSeed(long seed) {
+        return new EDI834Generator(members, coveragesPerMember, errorRate, seed);
+    }
+
+    /**
+     * Returns the number of members that makes a file of about {@code segments} segments.
+     */
+    public long membersFor(long segments) {
+        return Math.max(1, (segments - FIXED_SEGMENTS) / segmentsPerMember());
+    }
+
+    public Summary write(Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            return write(out);
+        }
+    }
+
+    /**
+     * Writes the interchange to {@code out}. The stream is flushed but not closed.
+     */
+    public Summary write(OutputStream out) throws IOException {
+        SegmentWriter writer = new SegmentWriter(out);
+        SplittableRandom random = new SplittableRandom(seed);
+        long corrupted = 0;
+
+        writer.segment(ISASegment.SEGMENT_CODE, "00", "          ", "00", "          ", "ZZ", "NYSTATE        ",
+            "ZZ", "RECEIVER       ", "230101", "1200", "^", "00501", "000000001", "0", "P", ":");
+        writer.segment(GSSegment.SEGMENT_CODE, "BE", "NYSTATE", "RECEIVER", "20230101", "1200", "1", "X", "005010X220A1");
+        long transactionStart = writer.getSegmentCount();
+        writer.segment(STSegment.SEGMENT_CODE, "834", "0001", "005010X220A1");
+        writer.segment(BGNSegment.SEGMENT_CODE, "00", "123456789", "20230101", "20230101", "1200", "", "", "2");
+        writer.segment(N1Segment.SEGMENT_CODE, "41", "NY STATE HEALTHCARE", "FI", "123456789");
+        writer.segment(N1Segment.SEGMENT_CODE, "40", "HEALTHCARE PROVIDER", "FI", "987654321");
+
+        for (long member = 0; member < members; member++) {
+            int corruption = random.nextDouble() < errorRate ? random.nextInt(CORRUPTION_KINDS) : -1;
+            if (corruption >= 0) {
+                corrupted++;
+            }
+            writeMember(writer, random, member, corruption);
+            if (member == 0) {
+                // A 2310 provider loop and the LS/LE pair, so every required segment type occurs
+                writer.segment(LXSegment.SEGMENT_CODE, "1");
+                writer.segment(NM1Segment.SEGMENT_CODE, "QD", "2", "PRIMARY CARE GROUP", "", "", "", "", "XX",
+                    "1234567890");
+                writer.segment(PLASegment.SEGMENT_CODE, "2", "P3", "20230101");
+                writer.segment(LSSegment.SEGMENT_CODE, "2700");
+                writer.segment(LESegment.SEGMENT_CODE, "2700");
+            }
+        }
+
+        long transactionSegments = writer.getSegmentCount() - transactionStart + 1;
+        writer.segment("SE", Long.toString(transactionSegments), "0001");
+        writer.segment("GE", "1", "1");
+        writer.segment("IEA", "1", "000000001");
+        writer.flush();
+        return new Summary(members, writer.getSegmentCount(), writer.getByteCount(), corrupted);
+    }
+
+    private void writeMember(SegmentWriter writer, SplittableRandom random, long member, int corruption)
+            throws IOException {
+        String id = memberId(member);
+        writer.segment(INSSegment.SEGMENT_CODE, "Y", corruption == 0 ? "00" : "18", "030", "28", "A", "E", "A", "F",
+            "N", "N", "D8", "20230101", "N");
+        writer.segment(REFSegment.SEGMENT_CODE, "0F", id);
+        writer.segment(DTPSegment.SEGMENT_CODE, "356", "D8", "20230101");
+        writer.segment(NM1Segment.SEGMENT_CODE, "IL", "1", pick(random, LAST_NAMES), pick(random, FIRST_NAMES), "Q",
+            "", "", "34", corruption == 1 ? id.substring(1) : id);
+        writer.segment(DMGSegment.SEGMENT_CODE, "D8", "19" + (50 + random.nextInt(50)) + "0101",
+            random.nextBoolean() ? "M" : "F");
+
+        int corruptCoverage = random.nextInt(coveragesPerMember);
+        for (int coverage = 0; coverage < coveragesPerMember; coverage++) {
+            boolean corrupt = coverage == corruptCoverage;
+            String line = INSURANCE_LINES[coverage % INSURANCE_LINES.length];
+            writer.segment(HDSegment.SEGMENT_CODE, "030", line, line, "PPO",
+                corrupt && corruption == 2 ? "XXX" : pick(random, COVERAGE_LEVELS));
+            writer.segment(DTPSegment.SEGMENT_CODE, "348", "D8", corrupt && corruption == 3 ? "2023AB01" : "20230101");
+            writer.segment(AMTSegment.SEGMENT_CODE, "D2", corrupt && corruption == 4 ? "125.5" : "125.50");
+        }
+    }
+
+    private static String memberId(long member) {
+        return Long.toString(100_000_000L + member % 900_000_000L);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private int segmentsPerMember() {
+        return 5 + 3 * coveragesPerMember;
+    }
+
+    /**
+     * What one {@code write} call produced.
+     */
+    public static final class Summary {
+        private final long members;
+        private final long segments;
+        private final long bytes;
+        private final long corruptedMembers;
+
+        Summary(long members, long segments, long bytes, long corruptedMembers) {
+            this.members = members;
+            this.segments = segments;
+            this.bytes = bytes;
+            this.corruptedMembers = corruptedMembers;
+        }
+
+        public long getMembers() {
+            return members;
+        }
+
+        public long getSegments() {
+            return segments;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Each corrupted member carries exactly one element that fails validation.
+         */
+        public long getCorruptedMembers() {
+            return corruptedMembers;
+        }
+    }
+
+    /**
+     * Encodes segments into a reusable byte buffer; element values are ASCII.
+     */
+    private static final class SegmentWriter {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private long segmentCount;
+        private long byteCount;
+
+        SegmentWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void segment(String tag, String... elements) throws IOException {
+            append(tag);
+            for (String element : elements) {
+                append('*');
+                append(element);
+            }
+            append('~');
+            append('\n');
+            segmentCount++;
+        }
+
+        long getSegmentCount() {
+            return segmentCount;
+        }
+
+        long getByteCount() {
+            return byteCount + position;
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            byteCount += position;
+            position = 0;
+            out.flush();
+        }
+
+        private void append(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                append(value.charAt(i));
+            }
+        }
+
+        private void append(char c) throws IOException {
+            if (position == buffer.length) {
+                out.write(buffer, 0, position);
+                byteCount += position;
+                position = 0;
+            }
+            buffer[position++] = (byte) c;
+        }
+    }
+}
\ No newline at end of file
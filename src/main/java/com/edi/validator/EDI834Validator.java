@@ -1,85 +1,69 @@
 package com.edi.validator;
 
-import com.edi.validator.model.EDISegment;
-import com.edi.validator.model.ISASegment;
-import com.edi.validator.model.GSSegment;
-import com.edi.validator.model.STSegment;
-import com.edi.validator.model.BGNSegment;
-import com.edi.validator.model.N1Segment;
-import com.edi.validator.model.INSSegment;
-import com.edi.validator.model.REFSegment;
-import com.edi.validator.model.NM1Segment;
-import com.edi.validator.model.DMGSegment;
-import com.edi.validator.model.HDSegment;
-import com.edi.validator.model.DTPSegment;
-import com.edi.validator.model.AMTSegment;
-import com.edi.validator.model.LXSegment;
-import com.edi.validator.model.PLASegment;
-import com.edi.validator.model.LSSegment;
-import com.edi.validator.model.LESegment;
-import com.edi.validator.model.SV1Segment;
-import com.edi.validator.model.SV2Segment;
-import com.edi.validator.model.SV3Segment;
-import com.edi.validator.model.SV4Segment;
-import com.edi.validator.model.SV5Segment;
-import com.edi.validator.model.SV6Segment;
-import com.edi.validator.model.SV7Segment;
-import com.edi.validator.model.SV8Segment;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.structure.LoopDefinition;
+import com.edi.validator.structure.X220A1;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 public class EDI834Validator extends EDIValidator {
-    private static final Logger logger = LoggerFactory.getLogger(EDI834Validator.class);
-    private static final Set<String> REQUIRED_SEGMENTS = new HashSet<>(Arrays.asList(
-        "ISA", "GS", "ST", "BGN", "N1", "INS", "REF", "NM1", "DMG", "HD", "DTP", "AMT", "LX", "PLA", "LS", "LE"
+    private static final Set<String> REQUIRED_INTERCHANGE_SEGMENTS = new LinkedHashSet<>(Arrays.asList(
+        "ISA", "GS"
     ));
+    private static final Set<String> REQUIRED_TRANSACTION_SET_SEGMENTS = Collections.unmodifiableSet(
+        new LinkedHashSet<>(Arrays.asList(
+            "ST", "BGN", "N1", "INS", "REF", "NM1", "DMG", "HD", "DTP", "AMT", "LX", "PLA", "LS", "LE"
+        )));
+    private static final int MISSING_SEGMENT = MessageCatalog.register(null, "Segment", "Missing required {} segment");
 
     public EDI834Validator() {
         super();
     }
 
+    public EDI834Validator(Map<String, EDISegmentValidator> validators) {
+        super(validators);
+    }
+
+    public EDI834Validator(ValidatorRegistry registry) {
+        super(registry);
+    }
+
     @Override
-    protected EDISegment createSegment(String segmentCode, String line) {
-        switch (segmentCode) {
-            case "ISA": return new ISASegment(line, getCurrentLineNumber());
-            case "GS": return new GSSegment(line, getCurrentLineNumber());
-            case "ST": return new STSegment(line, getCurrentLineNumber());
-            case "BGN": return new BGNSegment(line, getCurrentLineNumber());
-            case "N1": return new N1Segment(line, getCurrentLineNumber());
-            case "INS": return new INSSegment(line, getCurrentLineNumber());
-            case "REF": return new REFSegment(line, getCurrentLineNumber());
-            case "NM1": return new NM1Segment(line, getCurrentLineNumber());
-            case "DMG": return new DMGSegment(line, getCurrentLineNumber());
-            case "HD": return new HDSegment(line, getCurrentLineNumber());
-            case "DTP": return new DTPSegment(line, getCurrentLineNumber());
-            case "AMT": return new AMTSegment(line, getCurrentLineNumber());
-            case "LX": return new LXSegment(line, getCurrentLineNumber());
-            case "PLA": return new PLASegment(line, getCurrentLineNumber());
-            case "LS": return new LSSegment(line, getCurrentLineNumber());
-            case "LE": return new LESegment(line, getCurrentLineNumber());
-            case "SV1": return new SV1Segment(line, getCurrentLineNumber());
-            case "SV2": return new SV2Segment(line, getCurrentLineNumber());
-            case "SV3": return new SV3Segment(line, getCurrentLineNumber());
-            case "SV4": return new SV4Segment(line, getCurrentLineNumber());
-            case "SV5": return new SV5Segment(line, getCurrentLineNumber());
-            case "SV6": return new SV6Segment(line, getCurrentLineNumber());
-            case "SV7": return new SV7Segment(line, getCurrentLineNumber());
-            case "SV8": return new SV8Segment(line, getCurrentLineNumber());
-            default:
-                logger.debug("Unknown segment code: {}", segmentCode);
-                return null;
-        }
+    protected LoopDefinition getLoopStructure() {
+        return X220A1.INTERCHANGE;
+    }
+
+    @Override
+    protected boolean detectsDuplicateIds() {
+        return true;
+    }
+
+    @Override
+    protected Set<String> getRequiredTransactionSetSegments() {
+        return REQUIRED_TRANSACTION_SET_SEGMENTS;
     }
 
+    /**
+     * Transaction sets are checked as each one closes; only a file without any is checked for
+     * their segments here. Segments the X220A1 structure requires are reported by it instead.
+     */
     @Override
-    protected void validateRequiredSegments() {
-        for (String segmentCode : REQUIRED_SEGMENTS) {
-            if (!isSegmentPresent(segmentCode)) {
-                addValidationError(segmentCode, "Segment", "Missing required " + segmentCode + " segment");
+    protected void validateRequiredSegments(ValidationContext context) {
+        checkPresent(REQUIRED_INTERCHANGE_SEGMENTS, context);
+        if (context.getTransactionSetCount() == 0) {
+            checkPresent(REQUIRED_TRANSACTION_SET_SEGMENTS, context);
+        }
+    }
+
+    private void checkPresent(Set<String> segmentCodes, ValidationContext context) {
+        for (String segmentCode : segmentCodes) {
+            if (!context.isSegmentPresent(segmentCode) && !isRequiredByLoopStructure(segmentCode)) {
+                context.addError(MISSING_SEGMENT, segmentCode);
             }
         }
     }
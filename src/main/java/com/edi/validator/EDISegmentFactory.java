@@ -1,60 +1,69 @@
 package com.edi.validator;
 
+import com.edi.validator.interfaces.SegmentConstructor;
 import com.edi.validator.model.*;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class EDISegmentFactory {
+    private static final Map<String, SegmentConstructor> constructors = new LinkedHashMap<>();
+
+    static {
+        // Register the model class of every segment with one
+        constructors.put(ISASegment.SEGMENT_CODE, ISASegment::new);
+        constructors.put(GSSegment.SEGMENT_CODE, GSSegment::new);
+        constructors.put(STSegment.SEGMENT_CODE, STSegment::new);
+        constructors.put(BGNSegment.SEGMENT_CODE, BGNSegment::new);
+        constructors.put(N1Segment.SEGMENT_CODE, N1Segment::new);
+        constructors.put(INSSegment.SEGMENT_CODE, INSSegment::new);
+        constructors.put(REFSegment.SEGMENT_CODE, REFSegment::new);
+        constructors.put(NM1Segment.SEGMENT_CODE, NM1Segment::new);
+        constructors.put(DMGSegment.SEGMENT_CODE, DMGSegment::new);
+        constructors.put(HDSegment.SEGMENT_CODE, HDSegment::new);
+        constructors.put(DTPSegment.SEGMENT_CODE, DTPSegment::new);
+        constructors.put(AMTSegment.SEGMENT_CODE, AMTSegment::new);
+        constructors.put(LXSegment.SEGMENT_CODE, LXSegment::new);
+        constructors.put(PLASegment.SEGMENT_CODE, PLASegment::new);
+        constructors.put(LSSegment.SEGMENT_CODE, LSSegment::new);
+        constructors.put(LESegment.SEGMENT_CODE, LESegment::new);
+        constructors.put(SV1Segment.SEGMENT_CODE, SV1Segment::new);
+        constructors.put(SV2Segment.SEGMENT_CODE, SV2Segment::new);
+        constructors.put(SV3Segment.SEGMENT_CODE, SV3Segment::new);
+        constructors.put(SV4Segment.SEGMENT_CODE, SV4Segment::new);
+        constructors.put(SV5Segment.SEGMENT_CODE, SV5Segment::new);
+        constructors.put(SV6Segment.SEGMENT_CODE, SV6Segment::new);
+        constructors.put(SV7Segment.SEGMENT_CODE, SV7Segment::new);
+        constructors.put(SV8Segment.SEGMENT_CODE, SV8Segment::new);
+        constructors.put(SESegment.SEGMENT_CODE, SESegment::new);
+        constructors.put(GESegment.SEGMENT_CODE, GESegment::new);
+        constructors.put(IEASegment.SEGMENT_CODE, IEASegment::new);
+    }
+
     public static EDISegment createSegment(String segmentCode, String line, int lineNumber) {
-        switch (segmentCode) {
-            case "ISA":
-                return new ISASegment(line, lineNumber);
-            case "GS":
-                return new GSSegment(line, lineNumber);
-            case "ST":
-                return new STSegment(line, lineNumber);
-            case "BGN":
-                return new BGNSegment(line, lineNumber);
-            case "N1":
-                return new N1Segment(line, lineNumber);
-            case "INS":
-                return new INSSegment(line, lineNumber);
-            case "REF":
-                return new REFSegment(line, lineNumber);
-            case "NM1":
-                return new NM1Segment(line, lineNumber);
-            case "DMG":
-                return new DMGSegment(line, lineNumber);
-            case "HD":
-                return new HDSegment(line, lineNumber);
-            case "DTP":
-                return new DTPSegment(line, lineNumber);
-            case "AMT":
-                return new AMTSegment(line, lineNumber);
-            case "LX":
-                return new LXSegment(line, lineNumber);
-            case "PLA":
-                return new PLASegment(line, lineNumber);
-            case "LS":
-                return new LSSegment(line, lineNumber);
-            case "LE":
-                return new LESegment(line, lineNumber);
-            case "SV1":
-                return new SV1Segment(line, lineNumber);
-            case "SV2":
-                return new SV2Segment(line, lineNumber);
-            case "SV3":
-                return new SV3Segment(line, lineNumber);
-            case "SV4":
-                return new SV4Segment(line, lineNumber);
-            case "SV5":
-                return new SV5Segment(line, lineNumber);
-            case "SV6":
-                return new SV6Segment(line, lineNumber);
-            case "SV7":
-                return new SV7Segment(line, lineNumber);
-            case "SV8":
-                return new SV8Segment(line, lineNumber);
-            default:
-                return new GenericSegment(segmentCode, line, lineNumber);
-        }
+        return createSegment(segmentCode, RawSegment.parse(line, (byte) '*'), lineNumber);
+    }
+
+    public static EDISegment createSegment(String segmentCode, RawSegment raw, int lineNumber) {
+        SegmentConstructor constructor = constructors.get(segmentCode);
+        return constructor != null
+            ? constructor.create(raw, lineNumber)
+            : new GenericSegment(segmentCode, raw, lineNumber);
+    }
+
+    /**
+     * Returns a read-only view of the model constructor of every segment with a model class,
+     * keyed by segment code.
+     */
+    public static Map<String, SegmentConstructor> getConstructors() {
+        return Collections.unmodifiableMap(constructors);
+    }
+
+    /**
+     * Returns a constructor of {@link GenericSegment} for segments without a model class.
+     */
+    public static SegmentConstructor generic(String segmentCode) {
+        return (raw, lineNumber) -> new GenericSegment(segmentCode, raw, lineNumber);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
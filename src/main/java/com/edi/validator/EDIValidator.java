@@ -1,91 +1,735 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.SegmentConstructor;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.RawSegment;
 import com.edi.validator.model.ValidationError;
+import com.edi.validator.structure.LoopDefinition;
+import com.edi.validator.structure.LoopStructure;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class EDIValidator {
-    private final List<ValidationError> validationErrors;
-    private final Map<String, Boolean> requiredSegments;
-    private int currentLineNumber;
+    /** Number of INS member loops handed to a worker at a time in parallel mode. */
+    public static final int DEFAULT_MEMBERS_PER_BATCH = 256;
 
+    /**
+     * Version of the validation rules built into this library. Raise it whenever a change to a
+     * validator's code changes the errors it reports, so cached results are not reused.
+     */
+    public static final int RULESET_VERSION = 1;
+
+    /** Appended to a file's path to name its incremental validation cache. */
+    public static final String INCREMENTAL_CACHE_SUFFIX = ".vcache";
+
+    // Envelope and header segments are validated on the reading thread and close any open batch
+    private static final Set<String> ENVELOPE_SEGMENTS = new HashSet<>(Arrays.asList(
+        "ISA", "GS", "ST", "BGN", "SE", "GE", "IEA"
+    ));
+    private static final String MEMBER_LOOP_START = "INS";
+    private static final int MAX_BATCHES_IN_FLIGHT = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final String READ_ERROR_CODE = "SYSTEM";
+    private static final int READ_ERROR = MessageCatalog.register(READ_ERROR_CODE, "File", "Error reading EDI file: {}");
+    private static final String INTERCHANGE_HEADER = "ISA";
+    private static final String TRANSACTION_SET_HEADER = "ST";
+    private static final String TRANSACTION_SET_TRAILER = "SE";
+    private static final int MISSING_IN_TRANSACTION_SET = MessageCatalog.register(null, "Segment",
+        "Missing required {} segment in the transaction set starting at line {}");
+    private static final int SENDER_ID_INDEX = 6;
+
+    private final ValidatorRegistry registry;
+    // One table per profile; every table gives a tag the same id
+    private final Map<PartnerProfile, SegmentDispatchTable> tables = new IdentityHashMap<>();
+    private final SegmentDispatchTable defaultTable;
+    private final boolean[] envelope;
+    // Segments built on the reading thread for the envelope tracker and duplicate ID detector
+    private final boolean[] tracked;
+    private final boolean duplicateIds;
+    private final int interchangeHeaderId;
+    private final int memberLoopStartId;
+    private final int transactionSetHeaderId;
+    private final int transactionSetTrailerId;
+    // Bitset over tag ids, plus the same ids as a list for reporting
+    private final long[] requiredInTransactionSet;
+    private final int[] requiredInTransactionSetIds;
+    private final LoopStructure structure;
+    // Segments the loop structure reports itself when they are missing
+    private final Set<String> requiredByStructure;
+
+    /**
+     * Creates a validator over the validators and partner profiles discovered by {@link ValidatorRegistry#load()}.
+     */
     public EDIValidator() {
-        this.validationErrors = new ArrayList<>();
-        this.requiredSegments = new HashMap<>();
-        this.currentLineNumber = 0;
+        this(ValidatorRegistry.load());
+    }
+
+    /**
+     * Creates a validator over a fixed set of segment validators, with no partner profiles.
+     * @param validators Segment validators keyed by segment code; copied
+     */
+    protected EDIValidator(Map<String, EDISegmentValidator> validators) {
+        this(ValidatorRegistry.of(validators, Collections.emptyList()));
+    }
+
+    /**
+     * Creates a validator over a registry. Each interchange is validated with the profile of its
+     * ISA sender. The validator keeps no state between calls, so one instance can validate any
+     * number of files, concurrently.
+     */
+    protected EDIValidator(ValidatorRegistry registry) {
+        this.registry = registry;
+        List<PartnerProfile> profiles = new ArrayList<>();
+        profiles.add(registry.getDefaultProfile());
+        profiles.addAll(registry.getPartnerProfiles());
+
+        Map<String, SegmentConstructor> constructors = EDISegmentFactory.getConstructors();
+        Set<String> tags = new LinkedHashSet<>(constructors.keySet());
+        profiles.forEach(profile -> tags.addAll(profile.getValidators().keySet()));
+        // Envelope segments are registered even without a validator so the parallel path can recognise them
+        tags.addAll(ENVELOPE_SEGMENTS);
+        LoopDefinition loops = getLoopStructure();
+        if (loops != null) {
+            tags.addAll(loops.getTags());
+        }
+        Set<String> required = getRequiredTransactionSetSegments();
+        tags.addAll(required);
+        this.requiredByStructure = loops != null ? loops.getRequiredTags() : Collections.emptySet();
+        Set<String> checked = new LinkedHashSet<>(required);
+        checked.removeAll(requiredByStructure);
+
+        for (PartnerProfile profile : profiles) {
+            Map<String, EDISegmentValidator> validators = profile.getValidators();
+            SegmentDispatchTable.Builder builder = SegmentDispatchTable.builder();
+            tags.forEach(segmentCode -> builder.add(segmentCode, constructors.get(segmentCode), validators.get(segmentCode)));
+            tables.put(profile, builder.build());
+        }
+        this.defaultTable = tables.get(registry.getDefaultProfile());
+        this.envelope = new boolean[defaultTable.size()];
+        for (SegmentDispatchTable.Entry entry : defaultTable.getEntries()) {
+            envelope[entry.getId()] = ENVELOPE_SEGMENTS.contains(entry.getTag());
+        }
+        this.interchangeHeaderId = defaultTable.lookup(INTERCHANGE_HEADER).getId();
+        this.memberLoopStartId = defaultTable.lookup(MEMBER_LOOP_START).getId();
+        this.transactionSetHeaderId = defaultTable.lookup(TRANSACTION_SET_HEADER).getId();
+        this.transactionSetTrailerId = defaultTable.lookup(TRANSACTION_SET_TRAILER).getId();
+        this.requiredInTransactionSet = new long[(defaultTable.size() + Long.SIZE - 1) / Long.SIZE];
+        for (String tag : checked) {
+            int id = defaultTable.lookup(tag).getId();
+            requiredInTransactionSet[id >>> 6] |= 1L << id;
+        }
+        this.requiredInTransactionSetIds = checked.stream().mapToInt(tag -> defaultTable.lookup(tag).getId())
+            .sorted().toArray();
+        this.duplicateIds = detectsDuplicateIds();
+        this.tracked = new boolean[defaultTable.size()];
+        for (SegmentDispatchTable.Entry entry : defaultTable.getEntries()) {
+            tracked[entry.getId()] = envelope[entry.getId()]
+                || duplicateIds && DuplicateIdDetector.SEGMENT_CODES.contains(entry.getTag());
+        }
+        this.structure = loops != null
+            ? LoopStructure.compile(loops, tag -> defaultTable.lookup(tag).getId(), defaultTable.size())
+            : null;
+    }
+
+    /**
+     * Returns the loop hierarchy segment order is checked against, or null for no structure
+     * checks. Called once, from the constructor.
+     */
+    protected LoopDefinition getLoopStructure() {
+        return null;
+    }
+
+    /**
+     * Returns the segments every transaction set must contain. Each ST to SE stretch is checked
+     * against them when it closes, at its SE, at an ST that follows without one, or at the end
+     * of the input. Segments the loop structure requires are left to it, so a missing one is
+     * reported once. Called once, from the constructor.
+     */
+    protected Set<String> getRequiredTransactionSetSegments() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns true to report subscriber (REF*0F) and member (NM1*IL MI) IDs used by more than one
+     * INS loop of a file. Called once, from the constructor.
+     */
+    protected boolean detectsDuplicateIds() {
+        return false;
+    }
+
+    /**
+     * Returns true if the loop structure requires {@code segmentCode} and reports it when it is
+     * missing, so a presence check of its own would report it twice.
+     */
+    protected final boolean isRequiredByLoopStructure(String segmentCode) {
+        return requiredByStructure.contains(segmentCode);
+    }
+
+    public ValidatorRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Identifies the rules this validator applies: {@link #RULESET_VERSION}, the validator class
+     * and the registry's validators and partner profiles. Cached results are only reused under
+     * the same ID.
+     */
+    public String getRulesetId() {
+        return RULESET_VERSION + ":" + getClass().getName() + ":" + registry.getRulesetId();
     }
 
     public List<ValidationError> validate(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                currentLineNumber++;
-                line = line.trim();
-                
-                // Remove segment terminator if present
-                if (line.endsWith("~")) {
-                    line = line.substring(0, line.length() - 1);
-                }
+        return validate(filePath, new ValidationContext());
+    }
 
-                // Skip empty lines
-                if (line.isEmpty()) {
-                    continue;
-                }
+    /**
+     * Validates a file, recording errors and segment presence in {@code context}. Errors reach
+     * the context's sink as they are found; pass {@code new ValidationContext(sink)} to stream
+     * them instead of collecting them.
+     * @param filePath Path of the EDI file
+     * @param context Fresh state for this call
+     * @return The errors collected by {@code context}, empty if it streams to a sink
+     */
+    public List<ValidationError> validate(String filePath, ValidationContext context) {
+        Run run = new Run(context);
+        try (SegmentTokenizer tokenizer = SegmentTokenizer.open(filePath)) {
+            run.validate(tokenizer);
+        } catch (IOException e) {
+            run.readFailed(e);
+        }
+        return context.getErrors();
+    }
 
-                // Get segment code (first 3 characters)
-                String segmentCode = line.substring(0, Math.min(3, line.length()));
-                
-                // Mark segment as present
-                requiredSegments.put(segmentCode, true);
-
-                // Get validator for this segment
-                EDISegmentValidator validator = EDISegmentValidatorFactory.getValidator(segmentCode);
-                if (validator != null) {
-                    // Create segment object and validate
-                    EDISegment segment = createSegment(segmentCode, line);
-                    if(segment != null) {
-                        List<ValidationError> errors = validator.validate(segment);
-                        validationErrors.addAll(errors);
-                    }
-                }
+    /**
+     * Validates EDI content read from a stream, such as an object storage download or a
+     * decompressing stream. The stream is read to its end but not closed.
+     */
+    public List<ValidationError> validate(InputStream in) {
+        return validate(new SegmentTokenizer(in), new ValidationContext());
+    }
+
+    /**
+     * Validates EDI content read from a channel, which is read to its end but not closed.
+     */
+    public List<ValidationError> validate(ReadableByteChannel channel) {
+        return validate(new SegmentTokenizer(channel), new ValidationContext());
+    }
+
+    /**
+     * Validates the bytes between a buffer's position and limit, in place if it is backed by an
+     * accessible array. The buffer's position is not changed.
+     */
+    public List<ValidationError> validate(ByteBuffer content) {
+        return validate(SegmentTokenizer.wrap(content), new ValidationContext());
+    }
+
+    /**
+     * Validates EDI content held in memory, in place.
+     */
+    public List<ValidationError> validate(byte[] content) {
+        return validate(SegmentTokenizer.wrap(content, 0, content.length), new ValidationContext());
+    }
+
+    /**
+     * Validates the segments of a tokenizer over any source, recording errors and segment
+     * presence in {@code context}. The tokenizer is read to its end but not closed.
+     * @param tokenizer Tokenizer positioned at the start of the content
+     * @param context Fresh state for this call
+     * @return The errors collected by {@code context}, empty if it streams to a sink
+     */
+    public List<ValidationError> validate(SegmentTokenizer tokenizer, ValidationContext context) {
+        Run run = new Run(context);
+        try {
+            run.validate(tokenizer);
+        } catch (IOException e) {
+            run.readFailed(e);
+        }
+        return context.getErrors();
+    }
+
+    /**
+     * Validates a stream of ByteBuffers as it arrives, publishing each segment and the errors it
+     * raises. Subscribe the returned processor to the source and a subscriber to the processor;
+     * see {@link ValidationProcessor} for the backpressure contract.
+     * @param limits Error limits for the stream
+     */
+    public ValidationProcessor newProcessor(ValidationLimits limits) {
+        return new ValidationProcessor(this, limits);
+    }
+
+    /**
+     * Validates a file, or returns its stored result if a byte-identical file was validated
+     * before with the same rules and limits. A repeat costs one hash pass over the file.
+     * @see #validate(String, ValidationContext, ValidationResultCache)
+     */
+    public List<ValidationError> validate(String filePath, ValidationResultCache cache) {
+        return validate(filePath, new ValidationContext(), cache);
+    }
+
+    /**
+     * Cached form of {@link #validate(String, ValidationContext)}. The errors reach the context
+     * once the whole result is known, and only the errors and segment count are kept, so
+     * {@link ValidationContext#isSegmentPresent} is not answered. Results of files that could
+     * not be read, or that were written to or replaced while being hashed or validated, are not
+     * stored, and a result the cache cannot store is logged and returned.
+     * @param filePath Path of the EDI file
+     * @param context Fresh state for this call
+     * @param cache Stored results
+     * @return The errors collected by {@code context}, empty if it streams to a sink
+     */
+    public List<ValidationError> validate(String filePath, ValidationContext context, ValidationResultCache cache) {
+        Path path = Paths.get(filePath);
+        List<Object> version;
+        String key;
+        try {
+            version = ValidationResultCache.versionOf(path);
+            key = ValidationResultCache.keyFor(path, getRulesetId(), context.getLimits());
+        } catch (IOException e) {
+            // Unreadable files are validated, and reported, as usual
+            version = null;
+            key = null;
+        }
+        ValidationResultCache.Result cached = key != null ? cache.get(key) : null;
+        if (cached != null) {
+            context.restore(cached.getErrors(), cached.getSegmentCount());
+            return context.getErrors();
+        }
+
+        ValidationContext run = new ValidationContext(context.getLimits());
+        List<ValidationError> errors = validate(filePath, run);
+        // A file written to or replaced since the hash pass was validated from other bytes
+        if (key != null && errors.stream().noneMatch(error -> READ_ERROR_CODE.equals(error.getSegmentCode()))
+                && isUnchanged(path, version)) {
+            try {
+                cache.put(key, errors, run.getSegmentCount());
+            } catch (IOException e) {
+                // The result stands without the cache
+                System.err.println("Error storing validation result of " + filePath + ": " + e.getMessage());
             }
+        }
+        context.restore(errors, run.getSegmentCount());
+        return context.getErrors();
+    }
+
+    private static boolean isUnchanged(Path path, List<Object> version) {
+        try {
+            return ValidationResultCache.versionOf(path).equals(version);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if the file has no validation errors, stopping at the first error found.
+     */
+    public boolean isAcceptable(String filePath) {
+        ValidationContext context = new ValidationContext(ValidationLimits.failFast());
+        validate(filePath, context);
+        return context.getErrorCount() == 0;
+    }
+
+    /**
+     * Validates a file with the INS member loops spread over the common ForkJoinPool.
+     * @see #validate(String, Executor, int)
+     */
+    public List<ValidationError> validateParallel(String filePath) {
+        return validate(filePath, ForkJoinPool.commonPool(), DEFAULT_MEMBERS_PER_BATCH);
+    }
+
+    /**
+     * Validates a file, handing batches of INS member loops to {@code executor}. Each batch runs
+     * from an INS segment up to the next INS boundary once {@code membersPerBatch} loops have been
+     * collected, or up to the next envelope segment. Envelope and header segments (ISA, GS, ST,
+     * BGN, SE, GE, IEA and anything before the first INS) are validated on the calling thread.
+     * The returned errors are in file order, the same as {@link #validate(String)}.
+     * @param filePath Path of the EDI file
+     * @param executor Runs the member loop batches
+     * @param membersPerBatch Number of INS loops per batch
+     * @return The validation errors in file order
+     */
+    public List<ValidationError> validate(String filePath, Executor executor, int membersPerBatch) {
+        return validate(filePath, new ValidationContext(), executor, membersPerBatch);
+    }
+
+    /**
+     * Parallel form of {@link #validate(String, ValidationContext)}. Only the errors of batches
+     * still in flight are buffered; everything else reaches the context's sink in file order.
+     * @see #validate(String, Executor, int)
+     */
+    public List<ValidationError> validate(String filePath, ValidationContext context, Executor executor,
+                                          int membersPerBatch) {
+        if (membersPerBatch < 1) {
+            throw new IllegalArgumentException("membersPerBatch must be at least 1");
+        }
+        return validate(filePath, context, executor, membersPerBatch, null);
+    }
 
-            // Check for missing required segments
-            validateRequiredSegments();
+    /**
+     * Validates a file incrementally, with the cache kept next to it.
+     * @see #validateIncremental(String, ValidationContext, Path)
+     */
+    public List<ValidationError> validateIncremental(String filePath) {
+        return validateIncremental(filePath, new ValidationContext(), Paths.get(filePath + INCREMENTAL_CACHE_SUFFIX));
+    }
+
+    /**
+     * Validates a file, re-validating only the INS member loops whose bytes changed since the
+     * run that wrote {@code cacheFile}. The errors of unchanged loops are taken from the cache,
+     * with their line numbers moved to where the loop is now. Envelope and header segments,
+     * and the envelope, loop structure and duplicate ID checks, always run over the whole file.
+     * The returned errors are the same as those of {@link #validate(String, ValidationContext)}.
+     *
+     * <p>The cache is rewritten after a run that read the whole file; a missing, damaged or
+     * outdated cache only makes this a full run, and a cache that cannot be written is logged
+     * and skipped.</p>
+     * @param filePath Path of the EDI file
+     * @param context Fresh state for this call
+     * @param cacheFile Cache of the last run, created if it does not exist
+     * @return The errors collected by {@code context}, empty if it streams to a sink
+     */
+    public List<ValidationError> validateIncremental(String filePath, ValidationContext context, Path cacheFile) {
+        return validate(filePath, context, LoopResultCache.load(cacheFile, getRulesetId()));
+    }
+
+    List<ValidationError> validate(String filePath, ValidationContext context, LoopResultCache cache) {
+        // One loop per batch, validated on the reading thread, so each loop is looked up on its own
+        return validate(filePath, context, Runnable::run, 1, cache);
+    }
 
-            return validationErrors;
+    private List<ValidationError> validate(String filePath, ValidationContext context, Executor executor,
+                                           int membersPerBatch, LoopResultCache cache) {
+        Run run = new Run(context, executor, membersPerBatch, cache);
+        try (SegmentTokenizer tokenizer = SegmentTokenizer.open(filePath)) {
+            run.validate(tokenizer);
         } catch (IOException e) {
-            validationErrors.add(new ValidationError("SYSTEM", "File", 
-                "Error reading EDI file: " + e.getMessage(), currentLineNumber));
-            return validationErrors;
+            run.readFailed(e);
         }
+        return context.getErrors();
     }
 
-    protected abstract EDISegment createSegment(String segmentCode, String line);
+    private static void track(EDISegment segment, EnvelopeTracker envelopes, DuplicateIdDetector duplicates,
+                              ValidationErrorSink sink) {
+        envelopes.accept(segment, sink);
+        if (duplicates != null) {
+            duplicates.accept(segment, sink);
+        }
+    }
 
-    protected abstract void validateRequiredSegments();
+    protected abstract void validateRequiredSegments(ValidationContext context);
 
-    public List<ValidationError> getValidationErrors() {
-        return validationErrors;
+    /**
+     * Opens a transaction set at an ST, first closing one left open by a missing SE.
+     */
+    private void startTransactionSet(ValidationContext context, ValidationErrorSink sink) {
+        endTransactionSet(context, sink);
+        context.startTransactionSet();
     }
 
-    public int getCurrentLineNumber() {
-        return currentLineNumber;
+    /**
+     * Closes the open transaction set, if any, reporting the required segments it lacks.
+     */
+    private void endTransactionSet(ValidationContext context, ValidationErrorSink sink) {
+        if (!context.isInTransactionSet()) {
+            return;
+        }
+        context.endTransactionSet();
+        SegmentPresence present = context.getTransactionSetSegments();
+        if (context.isStopped() || present.containsAll(requiredInTransactionSet)) {
+            return;
+        }
+        for (int id : requiredInTransactionSetIds) {
+            if (!sink.acceptsMore()) {
+                return;
+            }
+            if (!present.contains(id)) {
+                sink.accept(new ValidationError(MISSING_IN_TRANSACTION_SET, new Object[] {
+                    defaultTable.getEntries().get(id).getTag(), context.getTransactionSetStart()
+                }, context.getLineNumber()));
+            }
+        }
     }
 
-    protected void addValidationError(String segmentCode, String fieldName, String message) {
-        validationErrors.add(new ValidationError(segmentCode, fieldName, message, currentLineNumber));
+    /**
+     * One validation, fed a segment at a time. Each segment is dispatched, validated and run
+     * through the cross-segment checks (envelopes, duplicate IDs, loop structure, transaction set
+     * contents) in file order on the reading thread; the errors of the checks follow the
+     * segment's own. {@link #finish()} runs the end-of-input checks.
+     *
+     * <p>A sequential run validates every segment inline. A batched run collects the segments of
+     * consecutive INS member loops into a {@link MemberLoopBatch} whose validators run on the
+     * executor, or, with a {@link LoopResultCache}, are replayed from the cache; segments
+     * outside member loops are validated inline unless batches are still pending, in which case
+     * they queue behind them to keep file order.</p>
+     */
+    final class Run {
+        private final ValidationContext context;
+        private final Dispatcher dispatcher = new Dispatcher();
+        private final EnvelopeTracker envelopes = new EnvelopeTracker();
+        private final DuplicateIdDetector duplicates = duplicateIds ? new DuplicateIdDetector() : null;
+        private final LoopStructure.Walker walker = structure != null ? structure.newWalker() : null;
+        private final ErrorBuffer checks = new ErrorBuffer();
+        // Batched runs only; a sequential run has no executor
+        private final Executor executor;
+        private final int membersPerBatch;
+        private final LoopResultCache cache;
+        private final int inFlight;
+        private final Deque<CompletableFuture<List<ValidationError>>> pending = new ArrayDeque<>();
+        private final MemberLoopBatch incremental;
+        private MemberLoopBatch batch;
+
+        Run(ValidationContext context) {
+            this(context, null, 0, null);
+        }
+
+        /**
+         * Creates a batched run, or a sequential one if {@code executor} is null.
+         * @param cache Results of unchanged loops, or null
+         */
+        Run(ValidationContext context, Executor executor, int membersPerBatch, LoopResultCache cache) {
+            this.context = context;
+            this.executor = executor;
+            this.membersPerBatch = membersPerBatch;
+            this.cache = cache;
+            // Incremental batches are validated on this thread as each one closes
+            this.inFlight = cache != null ? 0 : MAX_BATCHES_IN_FLIGHT;
+            this.incremental = cache != null ? new MemberLoopBatch(context.getLimits(), cache) : null;
+            context.bind(defaultTable);
+        }
+
+        /**
+         * Validates every segment the tokenizer returns, then runs the end-of-input checks.
+         */
+        void validate(SegmentTokenizer tokenizer) throws IOException {
+            RawSegment raw;
+            while (!context.isStopped() && (raw = tokenizer.next()) != null) {
+                accept(raw, tokenizer.getSegmentCount());
+            }
+            finish();
+        }
+
+        /**
+         * Validates one segment.
+         * @param segmentNumber 1-based position of the segment in the stream
+         */
+        void accept(RawSegment raw, int segmentNumber) {
+            // Find the segment type from the tag bytes (element 0, up to the first element separator)
+            SegmentDispatchTable.Entry entry = dispatcher.lookup(raw);
+            int tagId = entry != null ? entry.getId() : -1;
+            String segmentCode = entry != null ? entry.getTag() : raw.getTag();
+
+            // Segments are numbered by their position in the stream, which matches the
+            // physical line for files written one segment per line
+            context.startSegment(segmentNumber, tagId, segmentCode);
+            if (tagId == transactionSetHeaderId) {
+                startTransactionSet(context, checks);
+            }
+            boolean memberStart = tagId == memberLoopStartId;
+            if (executor != null) {
+                nextBatch(entry != null && envelope[tagId], memberStart, raw);
+            }
+
+            // Create segment object and validate, unless its errors would be dropped anyway;
+            // envelope and member ID segments are always built for the cross-segment checks.
+            // Cached loops need all of their errors, whatever the limits drop in this run
+            EDISegmentValidator validator = entry != null
+                    && (cache != null && batch != null || context.acceptsErrorsFor(tagId, segmentCode))
+                ? entry.getValidator()
+                : null;
+            boolean tracked = entry != null && EDIValidator.this.tracked[tagId];
+            // Segments of a cached loop are only built if the loop changed
+            boolean deferred = cache != null && batch != null && validator != null && !tracked;
+            EDISegment segment = !deferred && (validator != null || tracked)
+                ? entry.createSegment(raw, context.getLineNumber())
+                : null;
+            boolean inline = batch == null && pending.isEmpty();
+            if (inline && validator != null) {
+                validator.validate(segment, context);
+            }
+
+            // Cross-segment checks run here, in file order
+            if (tracked) {
+                track(segment, envelopes, duplicates, checks);
+            }
+            if (walker != null) {
+                walker.accept(tagId, segmentCode, context.getLineNumber(), checks);
+            }
+            if (tagId == transactionSetTrailerId) {
+                endTransactionSet(context, checks);
+            }
+            List<ValidationError> found = checks.take();
+            if (inline) {
+                if (found != null) {
+                    found.forEach(context::accept);
+                }
+            } else if (batch != null) {
+                if (memberStart) {
+                    batch.startMember();
+                }
+                if (deferred) {
+                    batch.addDeferred(entry, raw, found, context.getLineNumber());
+                } else if (validator != null || found != null) {
+                    batch.add(validator, segment, found, context.getLineNumber());
+                }
+            } else if (validator != null || found != null) {
+                // Queue behind the batches still running to keep file order
+                MemberLoopBatch single = new MemberLoopBatch(context.getLimits());
+                single.add(validator, segment, found, context.getLineNumber());
+                List<ValidationError> errors = single.get();
+                if (!errors.isEmpty()) {
+                    pending.addLast(CompletableFuture.completedFuture(errors));
+                }
+            }
+        }
+
+        void finish() {
+            if (batch != null && !context.isStopped()) {
+                submit(batch);
+            }
+            drain(0);
+            context.endOfInput();
+            if (walker != null && !context.isStopped()) {
+                walker.endOfInput(context.getLineNumber(), context);
+            }
+            endTransactionSet(context, context);
+
+            // Check for missing required segments, unless the error limit cut the file short
+            if (!context.isStopped()) {
+                validateRequiredSegments(context);
+            }
+            // A run cut short by the error limit has not seen every loop
+            if (cache != null && !context.isStopped()) {
+                cache.save();
+            }
+        }
+
+        /**
+         * Reports a read error after the errors of the segments read before it.
+         */
+        void readFailed(IOException e) {
+            drain(0);
+            context.addError(READ_ERROR, e.getMessage());
+        }
+
+        /**
+         * Closes the current batch at an envelope segment or when a member loop starts a full
+         * batch, and opens one at a member loop start.
+         */
+        private void nextBatch(boolean envelope, boolean memberStart, RawSegment raw) {
+            if (batch != null && (envelope || (memberStart && batch.getMemberCount() >= membersPerBatch))) {
+                submit(batch);
+                batch = null;
+            }
+            if (memberStart && batch == null) {
+                batch = incremental != null
+                    ? incremental.restart(dispatcher.getSeed(), context.getLineNumber())
+                    : new MemberLoopBatch(context.getLimits());
+            }
+            if (batch != null) {
+                batch.hash(raw);
+            }
+        }
+
+        private void submit(MemberLoopBatch batch) {
+            if (inFlight == 0 && pending.isEmpty()) {
+                // Nothing runs ahead, so the batch is validated here
+                context.addErrors(batch.get());
+                return;
+            }
+            pending.addLast(CompletableFuture.supplyAsync(batch, executor));
+            // Bound the read-ahead so a fast reader cannot hold the whole file in memory
+            drain(inFlight);
+        }
+
+        private void drain(int keep) {
+            while (pending.size() > keep) {
+                if (context.isStopped()) {
+                    // The error limit has been reached; results still in flight are not needed
+                    pending.forEach(future -> future.cancel(false));
+                    pending.clear();
+                    return;
+                }
+                try {
+                    context.addErrors(pending.removeFirst().join());
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        }
     }
 
-    protected boolean isSegmentPresent(String segmentCode) {
-        return requiredSegments.getOrDefault(segmentCode, false);
+
+    /**
+     * Holds the errors found for one segment on the reading thread until they are queued with it.
+     */
+    private static final class ErrorBuffer implements ValidationErrorSink {
+        private List<ValidationError> errors;
+
+        @Override
+        public void accept(ValidationError error) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(error);
+        }
+
+        List<ValidationError> take() {
+            List<ValidationError> taken = errors;
+            errors = null;
+            return taken;
+        }
+    }
+
+    /**
+     * Looks segments up in the table of the current interchange's partner profile, switching
+     * tables at each ISA header.
+     */
+    private final class Dispatcher {
+        private PartnerProfile profile = registry.getDefaultProfile();
+        private SegmentDispatchTable table = defaultTable;
+
+        SegmentDispatchTable.Entry lookup(RawSegment raw) {
+            SegmentDispatchTable.Entry entry = table.lookup(raw);
+            if (entry != null && entry.getId() == interchangeHeaderId && tables.size() > 1) {
+                String senderId = entry.createSegment(raw, 0).getField(SENDER_ID_INDEX).trim();
+                profile = registry.profileFor(senderId);
+                table = tables.get(profile);
+                entry = table.lookup(raw);
+            }
+            return entry;
+        }
+
+        /**
+         * Returns a hash seed for the current profile, so a loop cached under one partner's
+         * rules is not reused under another's.
+         */
+        long getSeed() {
+            return profile.getName().hashCode();
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.GESegment;
+import com.edi.validator.model.GSSegment;
+import com.edi.validator.model.IEASegment;
+import com.edi.validator.model.ISASegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.SESegment;
+import com.edi.validator.model.STSegment;
+import com.edi.validator.model.ValidationError;
+
+/**
+ * Reconciles each envelope trailer with its header as the file streams past: SE with ST, GE with
+ * GS and IEA with ISA. Only the control numbers and counts of the envelopes currently open are
+ * kept, so memory stays constant however many interchanges, groups and transaction sets a file
+ * holds. Segment counts come from segment ordinals, so only envelope segments are passed in.
+ *
+ * <p>Trailers without an open header, and counts that are not numbers, are left to the loop
+ * structure and segment validators.</p>
+ */
+final class EnvelopeTracker {
+    private static final int SE_COUNT = MessageCatalog.register(SESegment.SEGMENT_CODE,
+        "Number of Included Segments", "SE count {} does not match the {} segments in the transaction set");
+    private static final int SE_CONTROL_NUMBER = MessageCatalog.register(SESegment.SEGMENT_CODE,
+        "Transaction Set Control Number", "SE control number {} does not match ST control number {}");
+    private static final int GE_COUNT = MessageCatalog.register(GESegment.SEGMENT_CODE,
+        "Number of Transaction Sets", "GE count {} does not match the {} transaction sets in the group");
+    private static final int GE_CONTROL_NUMBER = MessageCatalog.register(GESegment.SEGMENT_CODE,
+        "Group Control Number", "GE control number {} does not match GS control number {}");
+    private static final int IEA_COUNT = MessageCatalog.register(IEASegment.SEGMENT_CODE,
+        "Number of Functional Groups", "IEA count {} does not match the {} functional groups in the interchange");
+    private static final int IEA_CONTROL_NUMBER = MessageCatalog.register(IEASegment.SEGMENT_CODE,
+        "Interchange Control Number", "IEA control number {} does not match ISA control number {}");
+
+    private String interchangeControlNumber;
+    private int groupCount;
+    private String groupControlNumber;
+    private int transactionSetCount;
+    private String transactionSetControlNumber;
+    private int transactionSetStart;
+
+    void accept(EDISegment segment, ValidationErrorSink sink) {
+        switch (segment.getSegmentCode()) {
+            case ISASegment.SEGMENT_CODE:
+                interchangeControlNumber = ((ISASegment) segment).getControlNumber();
+                groupCount = 0;
+                break;
+            case GSSegment.SEGMENT_CODE:
+                groupControlNumber = ((GSSegment) segment).getGroupControlNumber();
+                groupCount++;
+                transactionSetCount = 0;
+                break;
+            case STSegment.SEGMENT_CODE:
+                transactionSetControlNumber = ((STSegment) segment).getControlNumber();
+                transactionSetStart = segment.getLineNumber();
+                transactionSetCount++;
+                break;
+            case SESegment.SEGMENT_CODE:
+                closeTransactionSet((SESegment) segment, sink);
+                break;
+            case GESegment.SEGMENT_CODE:
+                closeGroup((GESegment) segment, sink);
+                break;
+            case IEASegment.SEGMENT_CODE:
+                closeInterchange((IEASegment) segment, sink);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void closeTransactionSet(SESegment segment, ValidationErrorSink sink) {
+        if (transactionSetControlNumber == null) {
+            return;
+        }
+        int actual = segment.getLineNumber() - transactionSetStart + 1;
+        checkCount(segment, 1, SE_COUNT, segment.getSegmentCount(), actual, sink);
+        checkControlNumber(segment, 2, SE_CONTROL_NUMBER, segment.getControlNumber(), transactionSetControlNumber, sink);
+        transactionSetControlNumber = null;
+    }
+
+    private void closeGroup(GESegment segment, ValidationErrorSink sink) {
+        if (groupControlNumber == null) {
+            return;
+        }
+        checkCount(segment, 1, GE_COUNT, segment.getTransactionSetCount(), transactionSetCount, sink);
+        checkControlNumber(segment, 2, GE_CONTROL_NUMBER, segment.getGroupControlNumber(), groupControlNumber, sink);
+        groupControlNumber = null;
+        transactionSetControlNumber = null;
+    }
+
+    private void closeInterchange(IEASegment segment, ValidationErrorSink sink) {
+        if (interchangeControlNumber == null) {
+            return;
+        }
+        checkCount(segment, 1, IEA_COUNT, segment.getGroupCount(), groupCount, sink);
+        checkControlNumber(segment, 2, IEA_CONTROL_NUMBER, segment.getControlNumber(), interchangeControlNumber, sink);
+        interchangeControlNumber = null;
+        groupControlNumber = null;
+        transactionSetControlNumber = null;
+    }
+
+    private static void checkCount(EDISegment segment, int index, int messageCode, String declared, int actual,
+                                   ValidationErrorSink sink) {
+        if (!sink.acceptsMore() || segment.getFieldCount() <= index) {
+            return;
+        }
+        long count = parseCount(declared);
+        if (count >= 0 && count != actual) {
+            sink.accept(new ValidationError(messageCode, index, new Object[] {declared, actual},
+                segment.getLineNumber()));
+        }
+    }
+
+    private static void checkControlNumber(EDISegment segment, int index, int messageCode, String trailer,
+                                           String header, ValidationErrorSink sink) {
+        if (!sink.acceptsMore() || segment.getFieldCount() <= index) {
+            return;
+        }
+        if (!trailer.equals(header)) {
+            sink.accept(new ValidationError(messageCode, index, new Object[] {trailer, header},
+                segment.getLineNumber()));
+        }
+    }
+
+    /**
+     * Returns the value of a count element of one to ten digits, or -1 for anything else.
+     */
+    private static long parseCount(String value) {
+        if (value.isEmpty() || value.length() > 10) {
+            return -1;
+        }
+        long count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            count = count * 10 + (c - '0');
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.GESegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
+
+public class GESegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(GESegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(GESegment.SEGMENT_CODE,
+        "Fields", "GE segment has insufficient fields (expected 3, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(GESegment.SEGMENT_CODE, 1, "Number of Transaction Sets", Formats.digits(1, 6),
+            "Invalid transaction set count: ", " (must be 1-6 digits)"),
+        ElementRule.of(GESegment.SEGMENT_CODE, 2, "Group Control Number", Formats.digits(1, 9),
+            "Invalid group control number: ", " (must be 1-9 digits)")
+    };
+
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof GESegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
+        }
+
+        // Validate number of fields
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
+        }
+
+        ElementRule.applyAll(RULES, segment, sink);
+    }
+
+    @Override
+    public String getSegmentCode() {
+        return GESegment.SEGMENT_CODE;
+    }
+}
\ No newline at end of file
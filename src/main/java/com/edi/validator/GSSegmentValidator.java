@@ -1,66 +1,46 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.GSSegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class GSSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(GSSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(GSSegment.SEGMENT_CODE,
+        "Fields", "GS segment has insufficient fields (expected 8, found {})");
+
+    private static final CodeList FUNCTIONAL_IDENTIFIER_CODES = CodeList.of("BE");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(GSSegment.SEGMENT_CODE, 1, "Functional Identifier", FUNCTIONAL_IDENTIFIER_CODES,
+            "Invalid functional identifier: ", " (must be BE)"),
+        ElementRule.of(GSSegment.SEGMENT_CODE, 4, "Date", Formats.DATE_CCYYMMDD,
+            "Invalid date format: ", " (must be CCYYMMDD)"),
+        ElementRule.of(GSSegment.SEGMENT_CODE, 5, "Time", Formats.TIME_HHMM,
+            "Invalid time format: ", " (must be HHMM)")
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof GSSegment)) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        GSSegment gsSegment = (GSSegment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 8) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Fields", 
-                "GS segment has insufficient fields (expected 8, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate functional identifier code
-        String functionalId = gsSegment.getFunctionalIdentifierCode();
-        if (!"BE".equals(functionalId)) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Functional Identifier",
-                "Invalid functional identifier: " + functionalId + " (must be BE)",
-                segment.getLineNumber()));
-        }
-
-        // Validate sender ID (NY HCS specific)
-        String senderId = gsSegment.getSenderId();
-        if (!senderId.startsWith("NY")) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Sender ID",
-                "Invalid sender ID: " + senderId + " (must start with NY)",
-                segment.getLineNumber()));
-        }
-
-        // Validate date format (YYMMDD)
-        String date = gsSegment.getDate();
-        if (!date.matches("^\\d{6}$")) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Date",
-                "Invalid date format: " + date + " (must be YYMMDD)",
-                segment.getLineNumber()));
-        }
-
-        // Validate time format (HHMM)
-        String time = gsSegment.getTime();
-        if (!time.matches("^\\d{4}$")) {
-            errors.add(new ValidationError(GSSegment.SEGMENT_CODE, "Time",
-                "Invalid time format: " + time + " (must be HHMM)",
-                segment.getLineNumber()));
+        if (segment.getFieldCount() < 8) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
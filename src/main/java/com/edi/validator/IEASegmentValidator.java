@@ -0,0 +1,45 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.IEASegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
+
+public class IEASegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(IEASegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(IEASegment.SEGMENT_CODE,
+        "Fields", "IEA segment has insufficient fields (expected 3, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(IEASegment.SEGMENT_CODE, 1, "Number of Functional Groups", Formats.digits(1, 5),
+            "Invalid functional group count: ", " (must be 1-5 digits)"),
+        ElementRule.of(IEASegment.SEGMENT_CODE, 2, "Interchange Control Number", Formats.NINE_DIGITS,
+            "Invalid interchange control number: ", " (must be 9 digits)")
+    };
+
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof IEASegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
+        }
+
+        // Validate number of fields
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
+        }
+
+        ElementRule.applyAll(RULES, segment, sink);
+    }
+
+    @Override
+    public String getSegmentCode() {
+        return IEASegment.SEGMENT_CODE;
+    }
+}
\ No newline at end of file
@@ -1,58 +1,41 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.ISASegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class ISASegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(ISASegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(ISASegment.SEGMENT_CODE,
+        "Fields", "ISA segment has insufficient fields (expected 16, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(ISASegment.SEGMENT_CODE, 9, "Date", Formats.DATE_YYMMDD,
+            "Invalid date format: ", " (must be YYMMDD)"),
+        ElementRule.of(ISASegment.SEGMENT_CODE, 10, "Time", Formats.TIME_HHMM,
+            "Invalid time format: ", " (must be HHMM)")
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof ISASegment)) {
-            errors.add(new ValidationError(ISASegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        ISASegment isaSegment = (ISASegment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 16) {
-            errors.add(new ValidationError(ISASegment.SEGMENT_CODE, "Fields", 
-                "ISA segment has insufficient fields (expected 16, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate sender ID (NY HCS specific)
-        String senderId = isaSegment.getSenderId();
-        if (!senderId.startsWith("NY")) {
-            errors.add(new ValidationError(ISASegment.SEGMENT_CODE, "Sender ID",
-                "Invalid sender ID: " + senderId + " (must start with NY)",
-                segment.getLineNumber()));
-        }
-
-        // Validate date format (YYMMDD)
-        String date = isaSegment.getDate();
-        if (!date.matches("^\\d{6}$")) {
-            errors.add(new ValidationError(ISASegment.SEGMENT_CODE, "Date",
-                "Invalid date format: " + date + " (must be YYMMDD)",
-                segment.getLineNumber()));
-        }
-
-        // Validate time format (HHMM)
-        String time = isaSegment.getTime();
-        if (!time.matches("^\\d{4}$")) {
-            errors.add(new ValidationError(ISASegment.SEGMENT_CODE, "Time",
-                "Invalid time format: " + time + " (must be HHMM)",
-                segment.getLineNumber()));
+        if (segment.getFieldCount() < 16) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
@@ -0,0 +1,133 @@
+package com.edi.validator;
+
+import com.edi.validator.model.EDISegment;
+
+import java.util.Arrays;
+
+/**
+ * A set of element values kept in primitive arrays instead of a {@code HashSet<String>}. Values
+ * are copied byte for byte into one growing arena and found through an open-addressing table with
+ * linear probing. Each slot packs the value's 32-bit hash, as a fingerprint, with its entry
+ * number, so a probe is one array read and only a matching fingerprint leads to a byte-for-byte
+ * comparison in the arena.
+ *
+ * <p>An entry costs its value's bytes plus about 24 bytes of arrays, against roughly 100 bytes
+ * for a String in a HashSet. Not thread-safe.</p>
+ */
+final class IdIndex {
+    private static final int INITIAL_ENTRIES = 512;
+
+    // Hash in the high half and entry number plus one in the low half, 0 when empty; at most half full
+    private long[] slots = new long[INITIAL_ENTRIES * 2];
+    private int[] lineNumbers = new int[INITIAL_ENTRIES];
+    // Entry i occupies arena[starts[i]] up to arena[starts[i + 1]]
+    private int[] starts = new int[INITIAL_ENTRIES + 1];
+    private byte[] arena = new byte[INITIAL_ENTRIES * 16];
+    private int size;
+
+    /**
+     * Adds the value of one element unless it is already present.
+     * @param segment Segment holding the value
+     * @param index Element index
+     * @param lineNumber Position recorded with a new value
+     * @return -1 if the value was added, otherwise the position recorded when it was first added
+     */
+    int add(EDISegment segment, int index, int lineNumber) {
+        int length = segment.getFieldLength(index);
+        int hash = hash(segment, index, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        long packed;
+        while ((packed = slots[slot]) != 0) {
+            int entry = (int) packed - 1;
+            if ((int) (packed >>> 32) == hash && matches(entry, segment, index, length)) {
+                return lineNumbers[entry];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == lineNumbers.length) {
+            growEntries();
+        }
+        int start = starts[size];
+        if (start + length > arena.length) {
+            growArena(start + length);
+        }
+        for (int i = 0; i < length; i++) {
+            arena[start + i] = segment.getFieldByte(index, i);
+        }
+        lineNumbers[size] = lineNumber;
+        starts[size + 1] = start + length;
+        slots[slot] = (long) hash << 32 | ++size;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean matches(int entry, EDISegment segment, int index, int length) {
+        int start = starts[entry];
+        if (starts[entry + 1] - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (arena[start + i] != segment.getFieldByte(index, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over the value's bytes, then the MurmurHash3 finalizer so that linear probing on
+     * the low bits sees well-mixed values.
+     */
+    private static int hash(EDISegment segment, int index, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (segment.getFieldByte(index, i) & 0xFF)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private void growEntries() {
+        int capacity = lineNumbers.length * 2;
+        lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+        starts = Arrays.copyOf(starts, capacity + 1);
+    }
+
+    private void growArena(int required) {
+        long capacity = Math.max((long) arena.length * 2, required);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("ID index is full");
+            }
+            capacity = Integer.MAX_VALUE - 8;
+        }
+        arena = Arrays.copyOf(arena, (int) capacity);
+    }
+
+    private void rehash() {
+        long[] larger = new long[slots.length * 2];
+        int mask = larger.length - 1;
+        for (long packed : slots) {
+            if (packed != 0) {
+                int slot = (int) (packed >>> 32) & mask;
+                while (larger[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                larger[slot] = packed;
+            }
+        }
+        slots = larger;
+    }
+}
\ No newline at end of file
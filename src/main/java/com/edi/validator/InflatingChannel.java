@@ -0,0 +1,172 @@
+package com.edi.validator;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads gzip content, or the first file of a zip archive, decompressed on a thread of its own.
+ * The inflating thread fills fixed-size chunks and hands them to the reader through a bounded
+ * queue, so inflating and tokenizing overlap on separate cores while at most
+ * {@link #QUEUE_CAPACITY} chunks wait in memory. Consumed chunks go back to the inflating thread
+ * for reuse. Nothing is written to disk.
+ */
+final class InflatingChannel implements ReadableByteChannel {
+    static final int CHUNK_SIZE = 64 * 1024;
+    static final int QUEUE_CAPACITY = 4;
+
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final InputStream source;
+    private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+    private final Thread inflater;
+    private volatile IOException failure;
+    private ByteBuffer current;
+    private volatile boolean open = true;
+
+    private InflatingChannel(InputStream source, String name) {
+        this.source = source;
+        this.inflater = new Thread(this::inflate, "edi-inflate-" + name);
+        inflater.setDaemon(true);
+    }
+
+    /**
+     * Returns true if the bytes at the stream's current position start a gzip stream or a zip
+     * archive. The stream must support mark and reset; its position is unchanged.
+     */
+    static boolean isCompressed(InputStream in) throws IOException {
+        byte[] magic = new byte[4];
+        in.mark(magic.length);
+        int length = in.readNBytes(magic, 0, magic.length);
+        in.reset();
+        return length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B
+            || length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+    }
+
+    /**
+     * Starts decompressing a stream positioned at a gzip or zip header.
+     * @param in Compressed stream, closed when the channel is
+     * @param name Name for the inflating thread
+     * @throws IOException If the stream is neither, or a zip archive holds no file
+     */
+    static InflatingChannel open(InputStream in, String name) throws IOException {
+        BufferedInputStream buffered = in instanceof BufferedInputStream ? (BufferedInputStream) in
+            : new BufferedInputStream(in, CHUNK_SIZE);
+        InputStream source;
+        try {
+            buffered.mark(2);
+            int first = buffered.read();
+            int second = buffered.read();
+            buffered.reset();
+            if (first == 0x1F && second == 0x8B) {
+                source = new GZIPInputStream(buffered, CHUNK_SIZE);
+            } else if (first == 'P' && second == 'K') {
+                source = firstFile(new ZipInputStream(buffered));
+            } else {
+                throw new IOException("Input is neither gzip nor zip");
+            }
+        } catch (IOException e) {
+            buffered.close();
+            throw e;
+        }
+        InflatingChannel channel = new InflatingChannel(source, name);
+        channel.inflater.start();
+        return channel;
+    }
+
+    private static ZipInputStream firstFile(ZipInputStream zip) throws IOException {
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (!entry.isDirectory()) {
+                return zip;
+            }
+        }
+        throw new IOException("Zip archive contains no file");
+    }
+
+    @Override
+    public int read(ByteBuffer target) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (current == END) {
+            return -1;
+        }
+        if (current == null || !current.hasRemaining()) {
+            if (current != null) {
+                free.offer(current.array());
+            }
+            try {
+                current = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for decompressed input");
+            }
+            if (current == END) {
+                if (failure != null) {
+                    throw new IOException(failure.getMessage(), failure);
+                }
+                return -1;
+            }
+        }
+        int count = Math.min(target.remaining(), current.remaining());
+        target.put(current.array(), current.position(), count);
+        current.position(current.position() + count);
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Closes the channel and stops the inflating thread, which closes the source.
+     */
+    @Override
+    public void close() {
+        if (open) {
+            open = false;
+            inflater.interrupt();
+            // Makes room for a put the interrupt did not reach
+            filled.clear();
+        }
+    }
+
+    private void inflate() {
+        try (InputStream in = source) {
+            while (true) {
+                byte[] chunk = free.poll();
+                if (chunk == null) {
+                    chunk = new byte[CHUNK_SIZE];
+                }
+                int length = in.readNBytes(chunk, 0, CHUNK_SIZE);
+                if (length > 0) {
+                    filled.put(ByteBuffer.wrap(chunk, 0, length));
+                }
+                if (length < CHUNK_SIZE) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // Closed by the reader, which takes nothing more
+            return;
+        }
+        try {
+            filled.put(END);
+        } catch (InterruptedException e) {
+            // Closed by the reader
+        }
+    }
+}
\ No newline at end of file
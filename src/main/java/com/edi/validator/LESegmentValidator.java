@@ -1,35 +1,38 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.LESegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeLists;
+import com.edi.validator.rules.ElementRule;
 
 public class LESegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(LESegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(LESegment.SEGMENT_CODE,
+        "Fields", "LE segment has insufficient fields (expected 2, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(LESegment.SEGMENT_CODE, 1, "Loop Identifier", CodeLists.LOOP_IDENTIFIER_CODES,
+            "Invalid loop identifier in LE segment: ")
+    };
 
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof LESegment)) {
-            errors.add(new ValidationError(LESegment.SEGMENT_CODE, "Segment Type", "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        LESegment leSegment = (LESegment) segment;
-
-        if (leSegment.getFields().size() < 2) {
-            errors.add(new ValidationError(LESegment.SEGMENT_CODE, "Fields", "LE segment has insufficient fields (expected 2, found " + leSegment.getFields().size() + ")", segment.getLineNumber()));
-            return errors;
-        }
-        
-        String loopId = leSegment.getLoopIdentifierCode();
-        if (!loopId.matches("^(2700|2750|2760|2770|2780|2790)$")) {
-            errors.add(new ValidationError(LESegment.SEGMENT_CODE, "Loop Identifier", "Invalid loop identifier in LE segment: " + loopId, segment.getLineNumber()));
+        if (segment.getFieldCount() < 2) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
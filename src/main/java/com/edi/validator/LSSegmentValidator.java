@@ -1,35 +1,38 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.LSSegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeLists;
+import com.edi.validator.rules.ElementRule;
 
 public class LSSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(LSSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(LSSegment.SEGMENT_CODE,
+        "Fields", "LS segment has insufficient fields (expected 2, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(LSSegment.SEGMENT_CODE, 1, "Loop Identifier", CodeLists.LOOP_IDENTIFIER_CODES,
+            "Invalid loop identifier in LS segment: ")
+    };
 
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof LSSegment)) {
-            errors.add(new ValidationError(LSSegment.SEGMENT_CODE, "Segment Type", "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        LSSegment lsSegment = (LSSegment) segment;
-
-        if (lsSegment.getFields().size() < 2) {
-            errors.add(new ValidationError(LSSegment.SEGMENT_CODE, "Fields", "LS segment has insufficient fields (expected 2, found " + lsSegment.getFields().size() + ")", segment.getLineNumber()));
-            return errors;
-        }
-        
-        String loopId = lsSegment.getLoopIdentifierCode();
-        if (!loopId.matches("^(2700|2750|2760|2770|2780|2790)$")) {
-            errors.add(new ValidationError(LSSegment.SEGMENT_CODE, "Loop Identifier", "Invalid loop identifier in LS segment: " + loopId, segment.getLineNumber()));
+        if (segment.getFieldCount() < 2) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
@@ -1,42 +1,39 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.LXSegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.Formats;
+import com.edi.validator.rules.ElementRule;
 
 public class LXSegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(LXSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(LXSegment.SEGMENT_CODE,
+        "Fields", "LX segment has insufficient fields (expected 2, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(LXSegment.SEGMENT_CODE, 1, "Assigned Number", Formats.digits(1, 6),
+            "Invalid assigned number format: ", " (must be 1-6 digits)")
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof LXSegment)) {
-            errors.add(new ValidationError(LXSegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        LXSegment lxSegment = (LXSegment) segment;
-
         // Validate number of fields
-        if (lxSegment.getFields().size() < 2) {
-            errors.add(new ValidationError(LXSegment.SEGMENT_CODE, "Fields", 
-                "LX segment has insufficient fields (expected 2, found " + lxSegment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate assigned number
-        String assignedNumber = lxSegment.getAssignedNumber();
-        if (!assignedNumber.matches("^\\d{1,6}$")) {
-            errors.add(new ValidationError(LXSegment.SEGMENT_CODE, "Assigned Number",
-                "Invalid assigned number format: " + assignedNumber + " (must be 1-6 digits)",
-                segment.getLineNumber()));
+        if (segment.getFieldCount() < 2) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
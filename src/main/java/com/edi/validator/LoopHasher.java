@@ -0,0 +1,56 @@
+package com.edi.validator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * A streaming 64-bit hash of the segments of one member loop, used to tell whether a loop
+ * changed since the last run. Bytes are consumed eight at a time with the MurmurHash3 x64 mixing
+ * steps; each segment's length is mixed in after its bytes so moving a byte across a segment
+ * boundary changes the hash.
+ */
+final class LoopHasher {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    private long hash;
+
+    void reset(long seed) {
+        hash = seed;
+    }
+
+    void update(byte[] data, int start, int length) {
+        long h = hash;
+        int i = start;
+        int end = start + length;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            h = mix(h, (long) LONGS.get(data, i));
+        }
+        long tail = 0;
+        for (int shift = 0; i < end; i++, shift += 8) {
+            tail |= (data[i] & 0xFFL) << shift;
+        }
+        h = mix(h, tail);
+        hash = mix(h, length);
+    }
+
+    long finish() {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mix(long h, long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        k *= C2;
+        h ^= k;
+        return Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.model.ValidationErrorList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sidecar cache of incremental validation: the errors of each INS member loop from the last
+ * run, keyed by a hash of the loop's bytes. Error line numbers are kept relative to the loop's
+ * INS segment, so a loop that moved because an earlier loop was edited is still a hit.
+ *
+ * <p>Loops without errors, usually almost all of them, are only a hash in an open-addressing
+ * table of longs, so a lookup is usually one array read. A
+ * cache written for another ruleset, or one that cannot be read, is treated as empty. Saving
+ * keeps only the loops seen in this run, so the file never grows beyond the current input.</p>
+ */
+final class LoopResultCache {
+    private static final int MAGIC = 0x45444943;
+    private static final int FORMAT_VERSION = 3;
+
+    private final Path file;
+    private final String rulesetId;
+    // Hashes of loops without errors, with linear probing; 0 marks an empty slot
+    private final long[] cleanLoops;
+    private final boolean cleanZero;
+    private final Map<Long, List<ValidationError>> failedLoops;
+    // Loops seen in this run, written by save()
+    private long[] seenClean = new long[1024];
+    private int seenCleanCount;
+    private final Map<Long, List<ValidationError>> seenFailed = new HashMap<>();
+    private int hits;
+    private int misses;
+
+    private LoopResultCache(Path file, String rulesetId, long[] clean, int cleanCount,
+                            Map<Long, List<ValidationError>> failedLoops) {
+        this.file = file;
+        this.rulesetId = rulesetId;
+        this.failedLoops = failedLoops;
+        this.cleanLoops = new long[Integer.highestOneBit(Math.max(cleanCount, 1) * 2 + 1) * 2];
+        boolean zero = false;
+        for (int i = 0; i < cleanCount; i++) {
+            if (clean[i] == 0) {
+                zero = true;
+            } else {
+                insert(cleanLoops, clean[i]);
+            }
+        }
+        this.cleanZero = zero;
+    }
+
+    /**
+     * Reads the cache in {@code file}, or starts an empty one if the file is missing, unreadable
+     * or was written for a different ruleset.
+     */
+    static LoopResultCache load(Path file, String rulesetId) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(rulesetId)) {
+                return empty(file, rulesetId);
+            }
+            long[] clean = new long[in.readInt()];
+            for (int i = 0; i < clean.length; i++) {
+                clean[i] = in.readLong();
+            }
+            int failedCount = in.readInt();
+            Map<Long, List<ValidationError>> failed = new HashMap<>();
+            for (int i = 0; i < failedCount; i++) {
+                long hash = in.readLong();
+                failed.put(hash, ValidationErrorCodec.read(in, 0));
+            }
+            return new LoopResultCache(file, rulesetId, clean, clean.length, failed);
+        } catch (NoSuchFileException e) {
+            return empty(file, rulesetId);
+        } catch (IOException | RuntimeException e) {
+            // A damaged cache only costs a full run
+            return empty(file, rulesetId);
+        }
+    }
+
+    private static LoopResultCache empty(Path file, String rulesetId) {
+        return new LoopResultCache(file, rulesetId, new long[0], 0, Collections.emptyMap());
+    }
+
+    /**
+     * Returns the errors of a loop from the last run, with line numbers rebased onto
+     * {@code lineBase}, or null if the loop was not seen.
+     */
+    List<ValidationError> get(long hash, int lineBase) {
+        if (hash == 0 ? cleanZero : contains(cleanLoops, hash)) {
+            hits++;
+            addClean(hash);
+            return Collections.emptyList();
+        }
+        List<ValidationError> errors = failedLoops.get(hash);
+        if (errors == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        seenFailed.put(hash, errors);
+        return rebase(errors, lineBase);
+    }
+
+    /**
+     * Records the errors of a loop validated in this run; line numbers are relative to
+     * {@code lineBase}.
+     */
+    void put(long hash, List<ValidationError> errors, int lineBase) {
+        if (errors.isEmpty()) {
+            addClean(hash);
+        } else {
+            seenFailed.put(hash, rebase(errors, -lineBase));
+        }
+    }
+
+    int getHits() {
+        return hits;
+    }
+
+    int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Replaces the cache file with the loops seen in this run. The file is written next to its
+     * final name and moved into place, so an interrupted save leaves the previous cache intact.
+     * A cache that cannot be written only costs the next run its hits, so the failure is logged
+     * rather than thrown.
+     */
+    void save() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(rulesetId);
+                out.writeInt(seenCleanCount);
+                for (int i = 0; i < seenCleanCount; i++) {
+                    out.writeLong(seenClean[i]);
+                }
+                out.writeInt(seenFailed.size());
+                for (Map.Entry<Long, List<ValidationError>> entry : seenFailed.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    ValidationErrorCodec.write(out, entry.getValue(), 0);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing validation cache " + file + ": " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                // Overwritten by the next save
+            }
+        }
+    }
+
+    private static void insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        int slot = (int) hash & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == hash) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = hash;
+    }
+
+    private static boolean contains(long[] table, long hash) {
+        int mask = table.length - 1;
+        int slot = (int) hash & mask;
+        long value;
+        while ((value = table[slot]) != 0) {
+            if (value == hash) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void addClean(long hash) {
+        if (seenCleanCount == seenClean.length) {
+            seenClean = Arrays.copyOf(seenClean, seenCleanCount * 2);
+        }
+        seenClean[seenCleanCount++] = hash;
+    }
+
+    private static List<ValidationError> rebase(List<ValidationError> errors, int lineBase) {
+        List<ValidationError> rebased = new ValidationErrorList();
+        for (ValidationError error : errors) {
+            rebased.add(error.withLineNumber(error.getLineNumber() + lineBase));
+        }
+        return rebased;
+    }
+}
\ No newline at end of file
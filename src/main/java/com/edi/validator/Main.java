@@ -1,21 +1,89 @@
 package com.edi.validator;
 
 import com.edi.validator.model.ValidationError;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
+    private static final String STANDARD_INPUT = "-";
+
     public static void main(String[] args) {
         if (args.length < 1) {
-            System.out.println("Please provide the path to your EDI file as an argument");
-            System.out.println("Example: java -cp target/edi-834-validator-1.0-SNAPSHOT.jar com.edi.validator.Main sample-834.edi");
+            printUsage();
+            return;
+        }
+
+        if ("--batch".equals(args[0])) {
+            runBatch(args);
+            return;
+        }
+
+        if ("--generate".equals(args[0])) {
+            runGenerate(args);
+            return;
+        }
+
+        boolean parallel = false;
+        boolean incremental = false;
+        String cacheDirectory = null;
+        long cacheBytes = ValidationResultCache.DEFAULT_MAX_BYTES;
+        ValidationLimits limits = ValidationLimits.NONE;
+        String ediFilePath = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--parallel".equals(args[i])) {
+                parallel = true;
+            } else if ("--incremental".equals(args[i])) {
+                incremental = true;
+            } else if ("--cache".equals(args[i]) && i + 1 < args.length) {
+                cacheDirectory = args[++i];
+            } else if ("--cache-size".equals(args[i]) && i + 1 < args.length) {
+                cacheBytes = Long.parseLong(args[++i]) * 1024 * 1024;
+            } else if (isLimitOption(args, i)) {
+                limits = applyLimit(limits, args, i);
+                i += limitArgumentCount(args[i]);
+            } else {
+                ediFilePath = args[i];
+            }
+        }
+        if (ediFilePath == null) {
+            System.out.println("Please provide the path to your EDI file after the options");
+            return;
+        }
+        int modes = (parallel ? 1 : 0) + (incremental ? 1 : 0) + (cacheDirectory != null ? 1 : 0);
+        if (modes > 1) {
+            System.out.println("--parallel, --incremental and --cache cannot be combined; choose one");
+            return;
+        }
+        if (modes > 0 && STANDARD_INPUT.equals(ediFilePath)) {
+            System.out.println("--parallel, --incremental and --cache need a file; standard input is validated sequentially");
             return;
         }
 
-        String ediFilePath = args[0];
         EDI834Validator validator = new EDI834Validator();
 
         try {
-            List<ValidationError> errors = validator.validate(ediFilePath);
+            ValidationContext context = new ValidationContext(limits);
+            List<ValidationError> errors;
+            if (STANDARD_INPUT.equals(ediFilePath)) {
+                errors = validator.validate(SegmentTokenizer.decompressing(System.in), context);
+            } else if (cacheDirectory != null) {
+                ValidationResultCache cache = ValidationResultCache.open(Paths.get(cacheDirectory), cacheBytes);
+                errors = validator.validate(ediFilePath, context, cache);
+            } else if (incremental) {
+                Path cacheFile = Paths.get(ediFilePath + EDIValidator.INCREMENTAL_CACHE_SUFFIX);
+                errors = validator.validateIncremental(ediFilePath, context, cacheFile);
+            } else if (parallel) {
+                errors = validator.validate(ediFilePath, context, ForkJoinPool.commonPool(),
+                    EDIValidator.DEFAULT_MEMBERS_PER_BATCH);
+            } else {
+                errors = validator.validate(ediFilePath, context);
+            }
 
             if (errors.isEmpty()) {
                 System.out.println("EDI file is valid!");
@@ -31,4 +99,126 @@ public class Main {
             e.printStackTrace();
         }
     }
-} 
\ No newline at end of file
+
+    private static void runBatch(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outputPath = null;
+        ValidationLimits limits = ValidationLimits.NONE;
+        String cacheDirectory = null;
+        long cacheBytes = ValidationResultCache.DEFAULT_MAX_BYTES;
+        List<String> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if ("--cache".equals(args[i]) && i + 1 < args.length) {
+                cacheDirectory = args[++i];
+            } else if ("--cache-size".equals(args[i]) && i + 1 < args.length) {
+                cacheBytes = Long.parseLong(args[++i]) * 1024 * 1024;
+            } else if ("--output".equals(args[i]) && i + 1 < args.length) {
+                outputPath = args[++i];
+            } else if (isLimitOption(args, i)) {
+                limits = applyLimit(limits, args, i);
+                i += limitArgumentCount(args[i]);
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        if (inputs.isEmpty()) {
+            printUsage();
+            return;
+        }
+
+        try (PrintStream out = outputPath != null ? new PrintStream(new FileOutputStream(outputPath), false, "UTF-8") : null) {
+            ValidationResultCache cache = cacheDirectory != null
+                ? ValidationResultCache.open(Paths.get(cacheDirectory), cacheBytes)
+                : null;
+            BatchValidator batch = new BatchValidator(new EDI834Validator(), threads, limits, cache);
+            BatchValidator.Summary summary = batch.run(inputs, out != null ? out : System.out);
+            if (out != null) {
+                System.out.println("Results written to " + outputPath + " (" + summary.getFiles() + " files, "
+                    + summary.getInvalidFiles() + " invalid, " + summary.getFailedFiles() + " failed)");
+            }
+            if (cache != null) {
+                System.out.println("Result cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+            }
+        } catch (Exception e) {
+            System.err.println("Error validating EDI files: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runGenerate(String[] args) {
+        EDI834Generator generator = new EDI834Generator();
+        String outputPath = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--members".equals(args[i]) && i + 1 < args.length) {
+                generator = generator.withMembers(Long.parseLong(args[++i]));
+            } else if ("--coverages".equals(args[i]) && i + 1 < args.length) {
+                generator = generator.withCoveragesPerMember(Integer.parseInt(args[++i]));
+            } else if ("--error-rate".equals(args[i]) && i + 1 < args.length) {
+                generator = generator.withErrorRate(Double.parseDouble(args[++i]));
+            } else if ("--seed".equals(args[i]) && i + 1 < args.length) {
+                generator = generator.withSeed(Long.parseLong(args[++i]));
+            } else {
+                outputPath = args[i];
+            }
+        }
+        if (outputPath == null) {
+            printUsage();
+            return;
+        }
+
+        try {
+            EDI834Generator.Summary summary = generator.write(Paths.get(outputPath));
+            System.out.println("Wrote " + outputPath + ": " + summary.getMembers() + " members, "
+                + summary.getSegments() + " segments, " + summary.getBytes() + " bytes, "
+                + summary.getCorruptedMembers() + " corrupted members");
+        } catch (Exception e) {
+            System.err.println("Error generating EDI file: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static boolean isLimitOption(String[] args, int i) {
+        switch (args[i]) {
+            case "--fail-fast":
+            case "--first-error-per-segment":
+                return true;
+            case "--max-errors":
+            case "--max-errors-per-segment":
+                return i + 1 < args.length;
+            default:
+                return false;
+        }
+    }
+
+    private static int limitArgumentCount(String option) {
+        return option.startsWith("--max-errors") ? 1 : 0;
+    }
+
+    private static ValidationLimits applyLimit(ValidationLimits limits, String[] args, int i) {
+        switch (args[i]) {
+            case "--fail-fast":
+                return limits.withMaxErrors(1);
+            case "--first-error-per-segment":
+                return limits.withFirstErrorPerSegment();
+            case "--max-errors":
+                return limits.withMaxErrors(Integer.parseInt(args[i + 1]));
+            default:
+                return limits.withMaxErrorsPerSegmentType(Integer.parseInt(args[i + 1]));
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Please provide the path to your EDI file as an argument");
+        System.out.println("Example: java -cp target/edi-834-validator-1.0-SNAPSHOT.jar com.edi.validator.Main sample-834.edi");
+        System.out.println("--parallel, --incremental and --cache are alternatives; use at most one");
+        System.out.println("Use - as the path to validate standard input (sequentially; --parallel, --incremental and --cache need a file). Gzip and zip inputs are decompressed while validating");
+        System.out.println("Add --parallel before the path to validate member loops on all cores");
+        System.out.println("Add --incremental to re-validate only the member loops changed since the last run (cache: <file>.vcache)");
+        System.out.println("Add --cache DIR [--cache-size MB] to reuse results of byte-identical files (single file and batch mode)");
+        System.out.println("Limits: --fail-fast, --max-errors N, --max-errors-per-segment N, --first-error-per-segment");
+        System.out.println("Batch mode: com.edi.validator.Main --batch [--threads N] [--output results.txt] <dir|file|glob>...");
+        System.out.println("Test data: com.edi.validator.Main --generate [--members N] [--coverages N] [--error-rate R] [--seed S] <output>");
+    }
+}
\ No newline at end of file
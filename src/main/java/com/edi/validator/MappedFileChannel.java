@@ -0,0 +1,74 @@
+package com.edi.validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through read-only memory mappings instead of {@code read} system calls. The file
+ * is mapped one window at a time, so files larger than 2 GB work and only the window being
+ * scanned needs address space; reads are bulk copies out of the page cache, in order, which lets
+ * the kernel read ahead.
+ */
+class MappedFileChannel implements ReadableByteChannel {
+    static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel file;
+    private final long size;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean open = true;
+
+    MappedFileChannel(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileChannel(Path path, long windowSize) throws IOException {
+        this.file = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = file.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (window == null || !window.hasRemaining()) {
+            long next = window == null ? 0 : windowStart + window.capacity();
+            if (next >= size) {
+                return -1;
+            }
+            windowStart = next;
+            window = file.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+        }
+        int count = Math.min(dst.remaining(), window.remaining());
+        if (count == 0) {
+            return 0;
+        }
+        int limit = window.limit();
+        window.limit(window.position() + count);
+        dst.put(window);
+        window.limit(limit);
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        // The mapping itself is released once the buffer is garbage collected
+        window = null;
+        file.close();
+    }
+}
\ No newline at end of file
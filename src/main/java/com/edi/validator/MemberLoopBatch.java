@@ -0,0 +1,204 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.RawSegment;
+import com.edi.validator.model.ValidationError;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A run of consecutive INS member loops, validated as one unit of work in parallel mode.
+ * Segments are built on the reading thread; only the validators run on the worker. The batch's
+ * errors are held until the reading thread hands them on in file order. The batch applies the
+ * per-segment limit itself and stops once it holds as many errors as the total limit.
+ *
+ * <p>In incremental mode a batch holds one member loop, hashes its bytes and is reused for the
+ * next loop once its errors have been taken. Its validator
+ * errors come from the {@link LoopResultCache} when the loop is unchanged, and are otherwise
+ * found without limits and cached; either way they are then replayed under the limits,
+ * interleaved with the cross-segment errors found on the reading thread.</p>
+ */
+class MemberLoopBatch implements Supplier<List<ValidationError>>, ValidationErrorSink {
+    private final List<EDISegmentValidator> validators = new ArrayList<>();
+    private final List<EDISegment> segments = new ArrayList<>();
+    // Incremental mode only: where to build a segment from if its loop is not cached
+    private final List<SegmentDispatchTable.Entry> entries = new ArrayList<>();
+    private final List<RawSegment> raws = new ArrayList<>();
+    private final List<List<ValidationError>> found = new ArrayList<>();
+    private int[] lineNumbers = new int[64];
+    private final ValidationLimits limits;
+    private final LoopResultCache cache;
+    private final LoopHasher hasher;
+    private int lineBase;
+    private int memberCount;
+    private int segmentErrors;
+    private List<ValidationError> errors = Collections.emptyList();
+
+    MemberLoopBatch(ValidationLimits limits) {
+        this(limits, null);
+    }
+
+    /**
+     * Creates an incremental batch; {@link #restart} starts each loop.
+     */
+    MemberLoopBatch(ValidationLimits limits, LoopResultCache cache) {
+        this.limits = limits;
+        this.cache = cache;
+        this.hasher = cache != null ? new LoopHasher() : null;
+    }
+
+    /**
+     * Empties an incremental batch for the member loop starting at {@code lineBase}.
+     * @param seed Hash seed identifying the partner profile the loop is validated with
+     * @return This batch
+     */
+    MemberLoopBatch restart(long seed, int lineBase) {
+        validators.clear();
+        segments.clear();
+        entries.clear();
+        raws.clear();
+        found.clear();
+        memberCount = 0;
+        errors = Collections.emptyList();
+        this.lineBase = lineBase;
+        hasher.reset(seed);
+        return this;
+    }
+
+    void startMember() {
+        memberCount++;
+    }
+
+    /**
+     * Queues one segment.
+     * @param validator Validator for {@code segment}, or null if only {@code found} is reported
+     * @param segment Segment to validate
+     * @param found Errors already found on the reading thread, reported after the segment's own; may be null
+     * @param lineNumber Position of the segment
+     */
+    void add(EDISegmentValidator validator, EDISegment segment, List<ValidationError> found, int lineNumber) {
+        addLineNumber(lineNumber);
+        validators.add(validator);
+        segments.add(segment);
+        this.found.add(found);
+        if (cache != null) {
+            entries.add(null);
+            raws.add(null);
+        }
+    }
+
+    /**
+     * Queues one segment of an incremental batch without building it; it is only built if the
+     * loop has to be validated.
+     * @param raw Location of the segment; copied
+     * @see #add(EDISegmentValidator, EDISegment, List, int)
+     */
+    void addDeferred(SegmentDispatchTable.Entry entry, RawSegment raw, List<ValidationError> found, int lineNumber) {
+        addLineNumber(lineNumber);
+        validators.add(entry.getValidator());
+        segments.add(null);
+        this.found.add(found);
+        entries.add(entry);
+        raws.add(raw.copy());
+    }
+
+    private void addLineNumber(int lineNumber) {
+        int index = segments.size();
+        if (index == lineNumbers.length) {
+            lineNumbers = Arrays.copyOf(lineNumbers, index * 2);
+        }
+        lineNumbers[index] = lineNumber;
+    }
+
+    /**
+     * Adds the bytes of one segment of the loop to its hash; ignored outside incremental mode.
+     */
+    void hash(RawSegment raw) {
+        if (hasher != null) {
+            hasher.update(raw.getData(), raw.getStart(), raw.getLength());
+        }
+    }
+
+    int getMemberCount() {
+        return memberCount;
+    }
+
+    @Override
+    public List<ValidationError> get() {
+        if (cache != null) {
+            return replay();
+        }
+        for (int i = 0; i < segments.size() && !isFull(); i++) {
+            segmentErrors = 0;
+            if (validators.get(i) != null) {
+                validators.get(i).validate(segments.get(i), this);
+            }
+            if (found.get(i) != null) {
+                found.get(i).forEach(this::accept);
+            }
+        }
+        return errors;
+    }
+
+    private List<ValidationError> replay() {
+        long hash = hasher.finish();
+        List<ValidationError> cached = cache.get(hash, lineBase);
+        if (cached == null) {
+            List<ValidationError> all = new ArrayList<>();
+            ValidationErrorSink unlimited = all::add;
+            for (int i = 0; i < segments.size(); i++) {
+                if (validators.get(i) != null) {
+                    EDISegment segment = segments.get(i) != null
+                        ? segments.get(i)
+                        : entries.get(i).createSegment(raws.get(i), lineNumbers[i]);
+                    validators.get(i).validate(segment, unlimited);
+                }
+            }
+            cache.put(hash, all, lineBase);
+            cached = all;
+        }
+
+        int next = 0;
+        for (int i = 0; i < segments.size() && !isFull(); i++) {
+            segmentErrors = 0;
+            int lineNumber = lineNumbers[i];
+            for (; next < cached.size() && cached.get(next).getLineNumber() <= lineNumber; next++) {
+                accept(cached.get(next));
+            }
+            if (found.get(i) != null) {
+                found.get(i).forEach(this::accept);
+            }
+        }
+        for (; next < cached.size() && !isFull(); next++) {
+            accept(cached.get(next));
+        }
+        return errors;
+    }
+
+    @Override
+    public void accept(ValidationError error) {
+        if (!acceptsMore()) {
+            return;
+        }
+        if (errors.isEmpty()) {
+            errors = new ArrayList<>();
+        }
+        errors.add(error);
+        segmentErrors++;
+    }
+
+    @Override
+    public boolean acceptsMore() {
+        return !(limits.isFirstErrorPerSegment() && segmentErrors > 0) && !isFull();
+    }
+
+    private boolean isFull() {
+        return limits.getMaxErrors() > 0 && errors.size() >= limits.getMaxErrors();
+    }
+}
\ No newline at end of file
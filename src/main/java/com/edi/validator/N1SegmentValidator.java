@@ -1,58 +1,47 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.N1Segment;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class N1SegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(N1Segment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(N1Segment.SEGMENT_CODE,
+        "Fields", "N1 segment has insufficient fields (expected 3, found {})");
+
+    private static final CodeList ENTITY_IDENTIFIER_CODES = CodeList.of("41", "40", "ACV", "IAE", "IN", "PE", "PR", "TV");
+    private static final CodeList IDENTIFICATION_CODE_QUALIFIERS = CodeList.of("FI");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(N1Segment.SEGMENT_CODE, 1, "Entity Identifier Code", ENTITY_IDENTIFIER_CODES,
+            "Invalid entity identifier code in N1 segment: "),
+        ElementRule.of(N1Segment.SEGMENT_CODE, 3, "Identification Code Qualifier", IDENTIFICATION_CODE_QUALIFIERS,
+            "Invalid identification code qualifier: ", " (must be FI)").optional(),
+        ElementRule.of(N1Segment.SEGMENT_CODE, 4, "Identification Code", Formats.NINE_DIGITS,
+            "Invalid identification code format: ", " (must be 9 digits)").optional()
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof N1Segment)) {
-            errors.add(new ValidationError(N1Segment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        N1Segment n1Segment = (N1Segment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 3) {
-            errors.add(new ValidationError(N1Segment.SEGMENT_CODE, "Fields", 
-                "N1 segment has insufficient fields (expected 3, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate entity identifier code
-        String entityCode = n1Segment.getEntityIdentifierCode();
-        if (!entityCode.matches("^(41|40|ACV|IAE|IN|PE|PR|TV)$")) {
-            errors.add(new ValidationError(N1Segment.SEGMENT_CODE, "Entity Identifier Code",
-                "Invalid entity identifier code in N1 segment: " + entityCode,
-                segment.getLineNumber()));
-        }
-
-        // Validate identification code qualifier if present
-        String qualifier = n1Segment.getIdentificationCodeQualifier();
-        if (!qualifier.isEmpty() && !"FI".equals(qualifier)) {
-            errors.add(new ValidationError(N1Segment.SEGMENT_CODE, "Identification Code Qualifier",
-                "Invalid identification code qualifier: " + qualifier + " (must be FI)",
-                segment.getLineNumber()));
-        }
-
-        // Validate identification code if present
-        String code = n1Segment.getIdentificationCode();
-        if (!code.isEmpty() && !code.matches("^\\d{9}$")) {
-            errors.add(new ValidationError(N1Segment.SEGMENT_CODE, "Identification Code",
-                "Invalid identification code format: " + code + " (must be 9 digits)",
-                segment.getLineNumber()));
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
@@ -1,74 +1,55 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.NM1Segment;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class NM1SegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(NM1Segment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(NM1Segment.SEGMENT_CODE,
+        "Fields", "NM1 segment has insufficient fields (expected 9, found {})");
+
+    private static final CodeList ENTITY_IDENTIFIER_CODES = CodeList.of("IL", "70", "31", "36", "M8", "74", "QD");
+    private static final CodeList ENTITY_TYPE_QUALIFIERS = CodeList.of("1", "2");
+    // MI is the member identification number of NM1*IL in X220A1
+    private static final CodeList IDENTIFICATION_CODE_QUALIFIERS = CodeList.of("34", "MI", "XX", "FI", "NI", "PI", "PP", "SV", "XV");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(NM1Segment.SEGMENT_CODE, 1, "Entity Identifier Code", ENTITY_IDENTIFIER_CODES,
+            "Invalid entity identifier code: "),
+        ElementRule.of(NM1Segment.SEGMENT_CODE, 2, "Entity Type Qualifier", ENTITY_TYPE_QUALIFIERS,
+            "Invalid entity type qualifier: ", " (must be 1 or 2)"),
+        ElementRule.of(NM1Segment.SEGMENT_CODE, 8, "Identification Code Qualifier", IDENTIFICATION_CODE_QUALIFIERS,
+            "Invalid identification code qualifier: "),
+        ElementRule.of(NM1Segment.SEGMENT_CODE, 9, "Identification Code", Formats.NINE_DIGITS,
+            "Invalid SSN format: ", " (must be 9 digits)")
+            .when(8, "34"),
+        ElementRule.of(NM1Segment.SEGMENT_CODE, 9, "Identification Code", Formats.ALPHANUMERIC_ID,
+            "Invalid member ID format: ", " (must be 1-20 alphanumeric characters)")
+            .when(8, "XX")
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof NM1Segment)) {
-            errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        NM1Segment nm1Segment = (NM1Segment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 9) {
-            errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Fields", 
-                "NM1 segment has insufficient fields (expected 9, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate entity identifier code
-        String entityIdentifierCode = nm1Segment.getEntityIdentifierCode();
-        if (!entityIdentifierCode.matches("^(IL|70|31|36|M8|74|QD)$")) {
-            errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Entity Identifier Code",
-                "Invalid entity identifier code: " + entityIdentifierCode,
-                segment.getLineNumber()));
-        }
-
-        // Validate entity type qualifier
-        String entityTypeQualifier = nm1Segment.getEntityTypeQualifier();
-        if (!entityTypeQualifier.matches("^(1|2)$")) {
-            errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Entity Type Qualifier",
-                "Invalid entity type qualifier: " + entityTypeQualifier + " (must be 1 or 2)",
-                segment.getLineNumber()));
-        }
-
-        // Validate identification code qualifier
-        String identificationCodeQualifier = nm1Segment.getIdentificationCodeQualifier();
-        if (!identificationCodeQualifier.matches("^(34|XX|FI|NI|PI|PP|SV|XV)$")) {
-            errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Identification Code Qualifier",
-                "Invalid identification code qualifier: " + identificationCodeQualifier,
-                segment.getLineNumber()));
-        }
-
-        // Validate identification code based on qualifier
-        String identificationCode = nm1Segment.getIdentificationCode();
-        if ("34".equals(identificationCodeQualifier)) {
-            if (!identificationCode.matches("^\\d{9}$")) {
-                errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Identification Code",
-                    "Invalid SSN format: " + identificationCode + " (must be 9 digits)",
-                    segment.getLineNumber()));
-            }
-        } else if ("XX".equals(identificationCodeQualifier)) {
-            if (!identificationCode.matches("^[A-Z0-9]{1,20}$")) {
-                errors.add(new ValidationError(NM1Segment.SEGMENT_CODE, "Identification Code",
-                    "Invalid member ID format: " + identificationCode + " (must be 1-20 alphanumeric characters)",
-                    segment.getLineNumber()));
-            }
+        if (segment.getFieldCount() < 9) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
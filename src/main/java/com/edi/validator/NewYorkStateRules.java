@@ -0,0 +1,32 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.PartnerRules;
+import com.edi.validator.model.GSSegment;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * New York State Health Care Services rules: the group sender ID (GS02) starts with NY. The
+ * profile is chosen by an interchange sender ID (ISA06) starting with NY, so ISA06 needs no rule
+ * of its own, and interchanges from other senders are not rejected.
+ */
+public class NewYorkStateRules implements PartnerRules {
+    private static final String SENDER_PREFIX = "NY";
+
+    @Override
+    public String getPartnerName() {
+        return "NY";
+    }
+
+    @Override
+    public boolean appliesTo(String senderId) {
+        return senderId.startsWith(SENDER_PREFIX);
+    }
+
+    @Override
+    public List<EDISegmentValidator> getValidators() {
+        return Collections.singletonList(new SenderIdValidator(GSSegment.SEGMENT_CODE, 2, SENDER_PREFIX));
+    }
+}
\ No newline at end of file
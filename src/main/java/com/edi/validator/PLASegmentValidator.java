@@ -1,30 +1,28 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.PLASegment;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
 
 public class PLASegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(PLASegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(PLASegment.SEGMENT_CODE,
+        "Fields", "PLA segment has insufficient fields (expected 4, found {})");
 
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof PLASegment)) {
-            errors.add(new ValidationError(PLASegment.SEGMENT_CODE, "Segment Type", "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        PLASegment plaSegment = (PLASegment) segment;
-
-        if (plaSegment.getFields().size() < 4) {
-            errors.add(new ValidationError(PLASegment.SEGMENT_CODE, "Fields", "PLA segment has insufficient fields (expected 4, found " + plaSegment.getFields().size() + ")", segment.getLineNumber()));
-            return errors;
+        if (segment.getFieldCount() < 4) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
         }
-
-        return errors;
     }
 
     @Override
@@ -0,0 +1,71 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.PartnerRules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validators that run on interchanges from one trading partner: the base validators with
+ * the partner's own rules merged in. Profiles are composed once, when the registry is built, so
+ * validating a file only runs the rules of its sender.
+ */
+public final class PartnerProfile {
+    /** Name of the profile used when no partner's rules apply. */
+    public static final String DEFAULT_NAME = "default";
+
+    private final String name;
+    private final PartnerRules rules;
+    private final Map<String, EDISegmentValidator> validators;
+
+    private PartnerProfile(String name, PartnerRules rules, Map<String, EDISegmentValidator> validators) {
+        this.name = name;
+        this.rules = rules;
+        this.validators = Collections.unmodifiableMap(validators);
+    }
+
+    static PartnerProfile base(Map<String, EDISegmentValidator> validators) {
+        return new PartnerProfile(DEFAULT_NAME, null, new LinkedHashMap<>(validators));
+    }
+
+    static PartnerProfile compose(PartnerRules rules, Map<String, EDISegmentValidator> base) {
+        Map<String, List<EDISegmentValidator>> bySegment = new LinkedHashMap<>();
+        for (EDISegmentValidator validator : rules.getValidators()) {
+            bySegment.computeIfAbsent(validator.getSegmentCode(), code -> new ArrayList<>()).add(validator);
+        }
+        Map<String, EDISegmentValidator> validators = new LinkedHashMap<>(base);
+        bySegment.forEach((segmentCode, partnerValidators) -> {
+            List<EDISegmentValidator> all = new ArrayList<>(partnerValidators);
+            if (base.containsKey(segmentCode)) {
+                all.add(base.get(segmentCode));
+            }
+            validators.put(segmentCode, all.size() == 1
+                ? all.get(0)
+                : new CompositeSegmentValidator(segmentCode, all.toArray(new EDISegmentValidator[0])));
+        });
+        return new PartnerProfile(rules.getPartnerName(), rules, validators);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if this profile's partner sent an interchange with {@code senderId}. The
+     * default profile matches nothing; it is the fallback.
+     */
+    public boolean appliesTo(String senderId) {
+        return rules != null && rules.appliesTo(senderId);
+    }
+
+    /**
+     * Returns the validator for each segment code, one per code.
+     */
+    public Map<String, EDISegmentValidator> getValidators() {
+        return validators;
+    }
+}
\ No newline at end of file
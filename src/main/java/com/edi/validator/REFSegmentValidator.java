@@ -1,49 +1,43 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.REFSegment;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class REFSegmentValidator implements EDISegmentValidator {
-    private static final Pattern SSN_PATTERN = Pattern.compile("^\\d{9}$");
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(REFSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(REFSegment.SEGMENT_CODE,
+        "Fields", "REF segment has insufficient fields (expected 2, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(REFSegment.SEGMENT_CODE, 2, "SSN", Formats.NINE_DIGITS,
+            "Invalid SSN format in REF segment: ")
+            .when(1, "0F"),
+        ElementRule.of(REFSegment.SEGMENT_CODE, 2, "Member ID", Formats.ALPHANUMERIC_ID,
+            "Invalid member ID format in REF segment: ")
+            .when(1, "1L")
+    };
 
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof REFSegment)) {
-            errors.add(new ValidationError(REFSegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        REFSegment refSegment = (REFSegment) segment;
-
         // Validate number of fields
-        if (refSegment.getFields().size() < 2) {
-            errors.add(new ValidationError(REFSegment.SEGMENT_CODE, "Fields", 
-                "REF segment has insufficient fields (expected 2, found " + refSegment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate reference identification qualifier
-        String refCode = refSegment.getReferenceIdentificationQualifier();
-        if ("0F".equals(refCode)) {
-            if (refSegment.getFields().size() < 3 || !SSN_PATTERN.matcher(refSegment.getReferenceIdentification()).matches()) {
-                errors.add(new ValidationError(REFSegment.SEGMENT_CODE, "SSN", "Invalid SSN format in REF segment: " + refSegment.getReferenceIdentification(), segment.getLineNumber()));
-            }
-        } else if ("1L".equals(refCode)) {
-            if (refSegment.getFields().size() < 3 || !refSegment.getReferenceIdentification().matches("^[A-Z0-9]{1,20}$")) {
-                errors.add(new ValidationError(REFSegment.SEGMENT_CODE, "Member ID", "Invalid member ID format in REF segment: " + refSegment.getReferenceIdentification(), segment.getLineNumber()));
-            }
+        if (segment.getFieldCount() < 2) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
@@ -0,0 +1,45 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.SESegment;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
+
+public class SESegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(SESegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(SESegment.SEGMENT_CODE,
+        "Fields", "SE segment has insufficient fields (expected 3, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(SESegment.SEGMENT_CODE, 1, "Number of Included Segments", Formats.digits(1, 10),
+            "Invalid segment count: ", " (must be 1-10 digits)"),
+        ElementRule.of(SESegment.SEGMENT_CODE, 2, "Transaction Set Control Number", Formats.ALPHANUMERIC_ID,
+            "Invalid transaction set control number: ", " (must be 1-20 alphanumeric characters)")
+    };
+
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof SESegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
+        }
+
+        // Validate number of fields
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
+        }
+
+        ElementRule.applyAll(RULES, segment, sink);
+    }
+
+    @Override
+    public String getSegmentCode() {
+        return SESegment.SEGMENT_CODE;
+    }
+}
\ No newline at end of file
@@ -1,51 +1,45 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.STSegment;
 import com.edi.validator.model.ValidationError;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeList;
+import com.edi.validator.rules.ElementRule;
 
 public class STSegmentValidator implements EDISegmentValidator {
-    @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
-        if (!(segment instanceof STSegment)) {
-            errors.add(new ValidationError(STSegment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
-        }
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(STSegment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(STSegment.SEGMENT_CODE,
+        "Fields", "ST segment has insufficient fields (expected 3, found {})");
 
-        STSegment stSegment = (STSegment) segment;
+    private static final CodeList TRANSACTION_SET_IDENTIFIERS = CodeList.of("834");
+    private static final CodeList VERSIONS = CodeList.of("005010X220A1");
 
-        // Validate number of fields
-        if (segment.getFields().size() < 3) {
-            errors.add(new ValidationError(STSegment.SEGMENT_CODE, "Fields", 
-                "ST segment has insufficient fields (expected 3, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
+    private static final ElementRule[] RULES = {
+        ElementRule.of(STSegment.SEGMENT_CODE, 1, "Transaction Set ID", TRANSACTION_SET_IDENTIFIERS,
+            "Invalid transaction set identifier: ", " (must be 834)"),
+        ElementRule.of(STSegment.SEGMENT_CODE, 3, "Version", VERSIONS,
+            "Invalid version: ", " (must be 005010X220A1)")
+    };
 
-        // Validate transaction set identifier
-        String transactionSetId = stSegment.getTransactionSetId();
-        if (!"834".equals(transactionSetId)) {
-            errors.add(new ValidationError(STSegment.SEGMENT_CODE, "Transaction Set ID",
-                "Invalid transaction set identifier: " + transactionSetId + " (must be 834)",
-                segment.getLineNumber()));
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (!(segment instanceof STSegment)) {
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        // Validate version
-        String version = stSegment.getVersion();
-        if (!"005010X220A1".equals(version)) {
-            errors.add(new ValidationError(STSegment.SEGMENT_CODE, "Version",
-                "Invalid version: " + version + " (must be 005010X220A1)",
-                segment.getLineNumber()));
+        // Validate number of fields
+        if (segment.getFieldCount() < 3) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
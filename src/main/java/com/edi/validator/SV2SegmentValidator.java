@@ -1,98 +1,54 @@
 package com.edi.validator;
 
 import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
 import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
 import com.edi.validator.model.SV2Segment;
 import com.edi.validator.model.ValidationError;
-import java.util.ArrayList;
-import java.util.List;
+import com.edi.validator.rules.CodeLists;
+import com.edi.validator.rules.ElementRule;
+import com.edi.validator.rules.Formats;
 
 public class SV2SegmentValidator implements EDISegmentValidator {
+    private static final int INVALID_SEGMENT_TYPE = MessageCatalog.register(SV2Segment.SEGMENT_CODE,
+        "Segment Type", "Invalid segment type");
+    private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(SV2Segment.SEGMENT_CODE,
+        "Fields", "SV2 segment has insufficient fields (expected 8, found {})");
+
+    private static final ElementRule[] RULES = {
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 1, "Service Line Revenue Code", Formats.digits(3, 3),
+            "Invalid revenue code format: ", " (must be 3 digits)"),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 2, "Composite Medical Procedure Identifier", Formats.PROCEDURE_IDENTIFIER,
+            "Invalid procedure identifier format: "),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 3, "Monetary Amount", Formats.MONETARY_AMOUNT,
+            "Invalid monetary amount format: ", " (must be a valid decimal number)"),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 4, "Unit Basis For Measurement Code", CodeLists.UNIT_BASIS_CODES,
+            "Invalid unit basis code: "),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 5, "Quantity", Formats.QUANTITY,
+            "Invalid quantity format: ", " (must be a valid decimal number)"),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 6, "Facility Code Value", CodeLists.FACILITY_CODES,
+            "Invalid facility code: "),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 7, "Service Type Code", CodeLists.SERVICE_TYPE_CODES,
+            "Invalid service type code: "),
+        ElementRule.of(SV2Segment.SEGMENT_CODE, 8, "Diagnosis Code Pointer", CodeLists.DIAGNOSIS_CODE_POINTERS,
+            "Invalid diagnosis code pointer: ", " (must be 1-9)")
+    };
+
     @Override
-    public List<ValidationError> validate(EDISegment segment) {
-        List<ValidationError> errors = new ArrayList<>();
-        
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
         if (!(segment instanceof SV2Segment)) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Segment Type", 
-                "Invalid segment type", segment.getLineNumber()));
-            return errors;
+            sink.accept(new ValidationError(INVALID_SEGMENT_TYPE, segment.getLineNumber()));
+            return;
         }
 
-        SV2Segment sv2Segment = (SV2Segment) segment;
-
         // Validate number of fields
-        if (segment.getFields().size() < 8) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Fields", 
-                "SV2 segment has insufficient fields (expected 8, found " + segment.getFields().size() + ")",
-                segment.getLineNumber()));
-            return errors;
-        }
-
-        // Validate service line revenue code
-        String revenueCode = sv2Segment.getServiceLineRevenueCode();
-        if (!revenueCode.matches("^\\d{3}$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Service Line Revenue Code",
-                "Invalid revenue code format: " + revenueCode + " (must be 3 digits)",
-                segment.getLineNumber()));
-        }
-
-        // Validate composite medical procedure identifier
-        String procedureId = sv2Segment.getCompositeMedicalProcedureIdentifier();
-        if (!procedureId.matches("^(HC|IV|ZZ)\\d{5}$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Composite Medical Procedure Identifier",
-                "Invalid procedure identifier format: " + procedureId,
-                segment.getLineNumber()));
-        }
-
-        // Validate monetary amount
-        String monetaryAmount = sv2Segment.getMonetaryAmount();
-        if (!monetaryAmount.matches("^\\d+(\\.\\d{2})?$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Monetary Amount",
-                "Invalid monetary amount format: " + monetaryAmount + " (must be a valid decimal number)",
-                segment.getLineNumber()));
-        }
-
-        // Validate unit basis for measurement code
-        String unitBasis = sv2Segment.getUnitBasisForMeasurementCode();
-        if (!unitBasis.matches("^(DA|F2|MJ|UN)$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Unit Basis For Measurement Code",
-                "Invalid unit basis code: " + unitBasis,
-                segment.getLineNumber()));
-        }
-
-        // Validate quantity
-        String quantity = sv2Segment.getQuantity();
-        if (!quantity.matches("^\\d+(\\.\\d{1,2})?$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Quantity",
-                "Invalid quantity format: " + quantity + " (must be a valid decimal number)",
-                segment.getLineNumber()));
-        }
-
-        // Validate facility code value
-        String facilityCode = sv2Segment.getFacilityCodeValue();
-        if (!facilityCode.matches("^(11|12|13|14|15|16|17|18|19|20|21|22|23|24|25|26|27|28|29|30|31|32|33|34|35|36|37|38|39|40|41|42|43|44|45|46|47|48|49|50|51|52|53|54|55|56|57|58|59|60|61|62|63|64|65|66|67|68|69|70|71|72|73|74|75|76|77|78|79|80|81|82|83|84|85|86|87|88|89|90|91|92|93|94|95|96|97|98|99)$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Facility Code Value",
-                "Invalid facility code: " + facilityCode,
-                segment.getLineNumber()));
-        }
-
-        // Validate service type code
-        String serviceType = sv2Segment.getServiceTypeCode();
-        if (!serviceType.matches("^(1|2|3|4|5|6|7|8|9|A|B|C|D|E|F|G|H|I|J|K|L|M|N|O|P|Q|R|S|T|U|V|W|X|Y|Z)$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Service Type Code",
-                "Invalid service type code: " + serviceType,
-                segment.getLineNumber()));
-        }
-
-        // Validate diagnosis code pointer
-        String diagnosisPointer = sv2Segment.getDiagnosisCodePointer();
-        if (!diagnosisPointer.matches("^[1-9]$")) {
-            errors.add(new ValidationError(SV2Segment.SEGMENT_CODE, "Diagnosis Code Pointer",
-                "Invalid diagnosis code pointer: " + diagnosisPointer + " (must be 1-9)",
-                segment.getLineNumber()));
+        if (segment.getFieldCount() < 8) {
+            sink.accept(new ValidationError(INSUFFICIENT_FIELDS, segment.getFieldCount(), segment.getLineNumber()));
+            return;
         }
 
-        return errors;
+        ElementRule.applyAll(RULES, segment, sink);
     }
 
     @Override
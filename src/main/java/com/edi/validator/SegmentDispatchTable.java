@@ -0,0 +1,180 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.SegmentConstructor;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.RawSegment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Maps a segment tag straight to its model constructor and validator. Tags of one to three bytes
+ * are packed big-endian into an int, and a multiplicative hash chosen at build time places every
+ * registered tag in its own slot, so a lookup is one multiply, one shift and one key compare,
+ * with no String built or hashed.
+ *
+ * <p>Each entry also carries a small integer id, its position in registration order, which
+ * callers can use to index per-tag arrays.</p>
+ */
+public final class SegmentDispatchTable {
+    private static final int MAX_TAG_LENGTH = 3;
+    private static final int ATTEMPTS_PER_SIZE = 4096;
+    private static final long MULTIPLIER_SEED = 834;
+
+    private final Entry[] slots;
+    private final int multiplier;
+    private final int shift;
+    private final List<Entry> entries;
+
+    private SegmentDispatchTable(Entry[] slots, int multiplier, int shift, List<Entry> entries) {
+        this.slots = slots;
+        this.multiplier = multiplier;
+        this.shift = shift;
+        this.entries = entries;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the entry for the segment's tag, or null if the tag is not registered.
+     */
+    public Entry lookup(RawSegment raw) {
+        return lookup(raw.getTagKey());
+    }
+
+    /**
+     * Returns the entry for {@code tag}, or null if it is not registered.
+     */
+    public Entry lookup(String tag) {
+        return lookup(pack(tag));
+    }
+
+    private Entry lookup(int key) {
+        Entry entry = slots[(key * multiplier) >>> shift];
+        return entry != null && entry.key == key ? entry : null;
+    }
+
+    /**
+     * Returns every entry in id order.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Packs a tag the same way as {@link RawSegment#getTagKey()}, or returns -1 if it is empty or
+     * longer than three characters.
+     */
+    static int pack(String tag) {
+        if (tag.isEmpty() || tag.length() > MAX_TAG_LENGTH) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < tag.length(); i++) {
+            key = (key << 8) | (tag.charAt(i) & 0xFF);
+        }
+        return key;
+    }
+
+    /**
+     * One registered segment type.
+     */
+    public static final class Entry {
+        private final int id;
+        private final int key;
+        private final String tag;
+        private final SegmentConstructor constructor;
+        private final EDISegmentValidator validator;
+
+        Entry(int id, String tag, SegmentConstructor constructor, EDISegmentValidator validator) {
+            this.id = id;
+            this.key = pack(tag);
+            this.tag = tag;
+            this.constructor = constructor;
+            this.validator = validator;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public EDISegment createSegment(RawSegment raw, int lineNumber) {
+            return constructor.create(raw, lineNumber);
+        }
+
+        /**
+         * Returns the segment validator, or null for a segment that is recognised but not validated.
+         */
+        public EDISegmentValidator getValidator() {
+            return validator;
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+        /**
+         * Registers a segment type. A tag registered again replaces the earlier entry.
+         * @param tag Segment identifier of one to three characters
+         * @param constructor Builds the segment model, or null for {@link com.edi.validator.model.GenericSegment}
+         * @param validator Validates the segment, or null if it is not validated
+         */
+        public Builder add(String tag, SegmentConstructor constructor, EDISegmentValidator validator) {
+            if (pack(tag) == -1) {
+                throw new IllegalArgumentException("Segment tags have one to three characters: " + tag);
+            }
+            Entry previous = entries.get(tag);
+            int id = previous != null ? previous.id : entries.size();
+            entries.put(tag, new Entry(id, tag, constructor != null ? constructor : EDISegmentFactory.generic(tag),
+                validator));
+            return this;
+        }
+
+        public SegmentDispatchTable build() {
+            List<Entry> ordered = Collections.unmodifiableList(new ArrayList<>(entries.values()));
+            SplittableRandom random = new SplittableRandom(MULTIPLIER_SEED);
+            // Start at twice the entry count and grow until some multiplier separates every key
+            int minBits = 1;
+            while ((1 << minBits) < 2 * ordered.size()) {
+                minBits++;
+            }
+            for (int bits = minBits; bits <= 16; bits++) {
+                for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+                    int multiplier = random.nextInt() | 1;
+                    Entry[] slots = place(ordered, multiplier, 32 - bits);
+                    if (slots != null) {
+                        return new SegmentDispatchTable(slots, multiplier, 32 - bits, ordered);
+                    }
+                }
+            }
+            throw new IllegalStateException("No collision-free table for " + ordered.size() + " segment tags");
+        }
+
+        private static Entry[] place(List<Entry> entries, int multiplier, int shift) {
+            Entry[] slots = new Entry[1 << (32 - shift)];
+            for (Entry entry : entries) {
+                int slot = (entry.key * multiplier) >>> shift;
+                if (slots[slot] != null) {
+                    return null;
+                }
+                slots[slot] = entry;
+            }
+            return slots;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.edi.validator;
+
+import java.util.Arrays;
+
+/**
+ * Which segment tags occurred, and how often, within some stretch of a file. Tags are the ids of
+ * a {@link SegmentDispatchTable}; presence is a bitset and occurrences an int per id. The ids
+ * counted since the last {@link #reset()} are remembered, so a reset only clears those and costs
+ * no more than the segments it undoes.
+ */
+final class SegmentPresence {
+    private final long[] present;
+    private final int[] occurrences;
+    private final int[] counted;
+    private int countedSize;
+
+    SegmentPresence(int tagCount) {
+        this.present = new long[(tagCount + Long.SIZE - 1) / Long.SIZE];
+        this.occurrences = new int[tagCount];
+        this.counted = new int[tagCount];
+    }
+
+    void add(int tagId) {
+        if (occurrences[tagId]++ == 0) {
+            present[tagId >>> 6] |= 1L << tagId;
+            counted[countedSize++] = tagId;
+        }
+    }
+
+    boolean contains(int tagId) {
+        return (present[tagId >>> 6] & 1L << tagId) != 0;
+    }
+
+    int getOccurrences(int tagId) {
+        return occurrences[tagId];
+    }
+
+    /**
+     * Returns true if every tag of {@code required}, a bitset over the same ids, is present.
+     */
+    boolean containsAll(long[] required) {
+        for (int i = 0; i < required.length; i++) {
+            if ((required[i] & ~present[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void reset() {
+        for (int i = 0; i < countedSize; i++) {
+            occurrences[counted[i]] = 0;
+        }
+        countedSize = 0;
+        Arrays.fill(present, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,467 @@
+package com.edi.validator;
+
+import com.edi.validator.model.RawSegment;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams X12 segments out of a byte channel one at a time.
+ *
+ * <p>The tokenizer does not depend on line breaks: segments are split on the segment terminator
+ * declared by the ISA header, so a file delivered as one huge line and a file with one segment
+ * per line produce the same segments. Every time a segment starts with {@code ISA} the delimiters
+ * are re-read from that header, which keeps files with several interchanges working. Input is
+ * read in fixed-size chunks that only grow when a single segment is longer than a chunk, so
+ * memory use does not depend on the size or the line layout of the file. Large files are
+ * memory-mapped (see {@link #open(String)}), which replaces read calls with copies out of the
+ * page cache.</p>
+ *
+ * <p>Element separators are indexed in the same pass that looks for the terminator. Segments are
+ * returned as a {@link RawSegment} pointing into the current chunk and into a shared array of
+ * element offsets. Once a segment has been handed out its chunk is never written again: the next
+ * read goes into a fresh chunk, so segment models built from earlier segments stay valid without
+ * copying their bytes.</p>
+ *
+ * <p>Bytes are interpreted as ISO-8859-1, which covers the X12 basic and extended character sets.
+ * Line breaks and blanks between segments are skipped.</p>
+ *
+ * <p>A tokenizer made by {@link #nonBlocking(ReadableByteChannel)} does not wait for input: when
+ * the channel has no bytes available, {@link #next()} returns {@code null} with
+ * {@link #needsInput()} set, keeping the partial segment, and picks up where it stopped once more
+ * bytes arrive.</p>
+ */
+public class SegmentTokenizer implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /** Files of at least this size are memory-mapped by {@link #open(String)}. */
+    public static final long MAP_THRESHOLD = 16L * 1024 * 1024;
+
+    private static final int ISA_HEADER_MAX_LENGTH = 128;
+    private static final int ISA_ELEMENT_COUNT = 16;
+    // Bytes read before looking at the header, enough for the ISA and the start of the next line
+    private static final int DELIMITER_LOOKAHEAD = 256;
+    private static final int OFFSET_BLOCK_SIZE = 8 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final int bufferSize;
+    private final boolean nonBlocking;
+    private final RawSegment current = new RawSegment();
+    private byte[] buffer;
+    private ByteBuffer readBuffer;
+    private boolean bufferShared;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean starved;
+    private int[] offsets = new int[OFFSET_BLOCK_SIZE];
+    private int offsetBase;
+    private int offsetLimit;
+    private Delimiters delimiters = Delimiters.DEFAULT;
+    private int segmentCount;
+
+    public SegmentTokenizer(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SegmentTokenizer(ReadableByteChannel channel, int bufferSize) {
+        this(channel, bufferSize, false);
+    }
+
+    private SegmentTokenizer(ReadableByteChannel channel, int bufferSize, boolean nonBlocking) {
+        if (bufferSize < ISA_HEADER_MAX_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must be at least " + ISA_HEADER_MAX_LENGTH + " bytes");
+        }
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+        this.nonBlocking = nonBlocking;
+        this.buffer = new byte[bufferSize];
+        this.readBuffer = ByteBuffer.wrap(buffer);
+    }
+
+    private SegmentTokenizer(byte[] data, int offset, int length) {
+        this.channel = new BufferChannel(ByteBuffer.allocate(0));
+        this.bufferSize = DEFAULT_BUFFER_SIZE;
+        this.nonBlocking = false;
+        // The whole input is one chunk that is never read into
+        this.buffer = data;
+        this.readBuffer = ByteBuffer.wrap(data);
+        this.bufferShared = true;
+        this.position = offset;
+        this.limit = offset + length;
+        this.endOfInput = true;
+    }
+
+    public SegmentTokenizer(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Creates a tokenizer that treats a read of zero bytes as "no input yet" instead of reading
+     * again, for channels in non-blocking mode or fed by a producer.
+     * @see #needsInput()
+     */
+    public static SegmentTokenizer nonBlocking(ReadableByteChannel channel) {
+        return new SegmentTokenizer(channel, DEFAULT_BUFFER_SIZE, true);
+    }
+
+    /**
+     * Creates a tokenizer over bytes already in memory. Segments point into {@code data} itself,
+     * which must not change while they are in use.
+     */
+    public static SegmentTokenizer wrap(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Range " + offset + "+" + length + " of " + data.length + " bytes");
+        }
+        return new SegmentTokenizer(data, offset, length);
+    }
+
+    /**
+     * Creates a tokenizer over the bytes between a buffer's position and limit, without changing
+     * the position. An array-backed buffer is read in place; a direct or read-only one is copied
+     * a chunk at a time.
+     */
+    public static SegmentTokenizer wrap(ByteBuffer content) {
+        if (content.hasArray()) {
+            return wrap(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        }
+        return new SegmentTokenizer(new BufferChannel(content.duplicate()));
+    }
+
+    /**
+     * Opens a file, memory-mapping it when it is at least {@link #MAP_THRESHOLD} bytes long and
+     * reading it through a file channel otherwise. A gzip file or zip archive, recognised by its
+     * leading bytes, is decompressed as it is read (see {@link #decompressing(InputStream)}).
+     */
+    public static SegmentTokenizer open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (isCompressed(path)) {
+            return new SegmentTokenizer(InflatingChannel.open(Files.newInputStream(path), path.getFileName().toString()));
+        }
+        if (Files.size(path) >= MAP_THRESHOLD) {
+            return openMapped(filePath);
+        }
+        return new SegmentTokenizer(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Creates a tokenizer over a stream that may hold gzip content or a zip archive, whose first
+     * file is read. Compressed input is inflated on a thread of its own that hands chunks to the
+     * tokenizer through a small bounded queue, so decompressing and validating overlap and no
+     * decompressed copy is kept beyond those chunks. Other input is read as is. Closing the
+     * tokenizer closes the stream.
+     */
+    public static SegmentTokenizer decompressing(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, InflatingChannel.CHUNK_SIZE);
+        if (InflatingChannel.isCompressed(buffered)) {
+            return new SegmentTokenizer(InflatingChannel.open(buffered, "stream"));
+        }
+        return new SegmentTokenizer(buffered);
+    }
+
+    /**
+     * Opens a file through read-only memory mappings, whatever its size.
+     */
+    public static SegmentTokenizer openMapped(String filePath) throws IOException {
+        return new SegmentTokenizer(new MappedFileChannel(Paths.get(filePath)));
+    }
+
+    /**
+     * Returns the next segment without its terminator, or {@code null} once the input is exhausted
+     * or, for a non-blocking tokenizer, when no complete segment is available yet. The returned
+     * instance is reused by the following call.
+     */
+    public RawSegment next() throws IOException {
+        starved = false;
+        while (skipWhitespace()) {
+            int end = scanSegment();
+            if (starved) {
+                // Drop the partial segment's offsets; it is scanned again once more input is read
+                offsetLimit = offsetBase;
+                return null;
+            }
+            int start = position;
+            position = Math.min(end + 1, limit);
+            // Consecutive terminators produce empty segments, which are skipped
+            if (end > start) {
+                addOffset(end - start + 1);
+                int fieldCount = offsetLimit - offsetBase - 1;
+                current.set(buffer, start, end - start, offsets, offsetBase, fieldCount);
+                offsetBase = offsetLimit;
+                bufferShared = true;
+                segmentCount++;
+                return current;
+            }
+            offsetLimit = offsetBase;
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the last call to {@link #next()} returned {@code null} because a
+     * non-blocking channel had no bytes available, rather than because the input ended.
+     */
+    public boolean needsInput() {
+        return starved;
+    }
+
+    private static boolean isCompressed(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 4)) {
+            return InflatingChannel.isCompressed(in);
+        }
+    }
+
+    public Delimiters getDelimiters() {
+        return delimiters;
+    }
+
+    /**
+     * Returns the number of segments returned so far, which is also the 1-based ordinal of the
+     * most recent segment.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Scans from the current position to the segment terminator, recording the start of every
+     * element relative to the segment start and reading more input as needed. Returns the index
+     * of the terminator, or the end of the trimmed data if the stream ends without one. Returns
+     * early with {@link #starved} set if a non-blocking channel runs dry first.
+     */
+    private int scanSegment() throws IOException {
+        if (startsWithIsa()) {
+            detectDelimiters();
+        }
+        if (starved) {
+            return -1;
+        }
+
+        byte terminator = delimiters.getSegmentTerminator();
+        byte separator = delimiters.getElementSeparator();
+        addOffset(0);
+        int scan = position;
+        while (true) {
+            byte[] data = buffer;
+            int end = limit;
+            for (; scan < end; scan++) {
+                byte b = data[scan];
+                if (b == terminator) {
+                    return scan;
+                }
+                if (b == separator) {
+                    addOffset(scan - position + 1);
+                }
+            }
+            if (endOfInput) {
+                while (end > position && isWhitespace(data[end - 1])) {
+                    end--;
+                }
+                return end;
+            }
+            int scanned = scan - position;
+            fill();
+            if (starved) {
+                return -1;
+            }
+            scan = position + scanned;
+        }
+    }
+
+    private void addOffset(int offset) {
+        if (offsetLimit == offsets.length) {
+            // Segments already handed out keep the old block; start a new one for this segment
+            int used = offsetLimit - offsetBase;
+            int[] block = new int[Math.max(OFFSET_BLOCK_SIZE, used * 2)];
+            System.arraycopy(offsets, offsetBase, block, 0, used);
+            offsets = block;
+            offsetBase = 0;
+            offsetLimit = used;
+        }
+        offsets[offsetLimit++] = offset;
+    }
+
+    private boolean skipWhitespace() throws IOException {
+        while (true) {
+            while (position < limit && isWhitespace(buffer[position])) {
+                position++;
+            }
+            if (position < limit) {
+                return true;
+            }
+            if (endOfInput || starved) {
+                return false;
+            }
+            fill();
+        }
+    }
+
+    private boolean startsWithIsa() throws IOException {
+        ensureAvailable(3);
+        return limit - position >= 3
+            && buffer[position] == 'I' && buffer[position + 1] == 'S' && buffer[position + 2] == 'A';
+    }
+
+    /**
+     * Reads the delimiters from the ISA header at the current position. The element separator is
+     * the byte after "ISA"; ISA16 is the single byte after the sixteenth element separator and the
+     * segment terminator follows it, unless ISA16 is left empty (see {@link #isEmptyIsa16}), in
+     * which case the default component separator applies. Counting separators rather than using fixed offsets also
+     * accepts headers whose fields are not space padded.
+     */
+    private void detectDelimiters() throws IOException {
+        ensureAvailable(DELIMITER_LOOKAHEAD);
+        int end = limit;
+        if (end - position < 4) {
+            return;
+        }
+        byte elementSeparator = buffer[position + 3];
+        int separators = 1;
+        byte repetitionSeparator = delimiters.getRepetitionSeparator();
+        for (int i = position + 4; i < end; i++) {
+            if (buffer[i] != elementSeparator) {
+                continue;
+            }
+            separators++;
+            if (separators == 11 && i + 1 < end) {
+                repetitionSeparator = buffer[i + 1];
+            } else if (separators == ISA_ELEMENT_COUNT) {
+                if (i + 2 < end) {
+                    byte next = buffer[i + 1];
+                    byte after = buffer[i + 2];
+                    if (isEmptyIsa16(next, after, i + 3, end)) {
+                        delimiters = new Delimiters(elementSeparator, Delimiters.DEFAULT.getComponentSeparator(),
+                            repetitionSeparator, next);
+                    } else {
+                        delimiters = new Delimiters(elementSeparator, next, repetitionSeparator, after);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the header ends without ISA16, so {@code next}, the byte after the last
+     * separator, is already the terminator. That is the case if it is a line break, or if it is
+     * followed by a letter or digit, which cannot be a terminator. When a line break follows it,
+     * {@code next} is either an empty ISA16's terminator ({@code *~\n}) or ISA16 before a line
+     * break terminator ({@code *:\n}); it is the terminator if the following line ends with it too.
+     * @param from Index of the byte after {@code after}
+     * @param end End of the bytes available
+     */
+    private boolean isEmptyIsa16(byte next, byte after, int from, int end) {
+        if (isLineBreak(next) || after >= '0' && after <= '9' || after >= 'A' && after <= 'Z'
+                || after >= 'a' && after <= 'z') {
+            return true;
+        }
+        if (!isLineBreak(after)) {
+            return false;
+        }
+        int line = from;
+        while (line < end && isLineBreak(buffer[line])) {
+            line++;
+        }
+        for (int i = line; i < end; i++) {
+            if (isLineBreak(buffer[i])) {
+                return buffer[i - 1] == next;
+            }
+        }
+        // No complete line follows the header to tell; an empty ISA16 is the common case for '~'
+        return next == Delimiters.DEFAULT.getSegmentTerminator();
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private void ensureAvailable(int length) throws IOException {
+        while (limit - position < length && !endOfInput && !starved) {
+            fill();
+        }
+    }
+
+    /**
+     * Moves the unconsumed bytes to the front of a chunk and reads more input behind them. The
+     * current chunk is reused only if no segment has been handed out from it and it still has
+     * room; otherwise the partial segment moves to a new chunk with at least as much free space.
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (bufferShared || remaining == buffer.length) {
+            byte[] chunk = new byte[Math.max(bufferSize, remaining * 2)];
+            System.arraycopy(buffer, position, chunk, 0, remaining);
+            buffer = chunk;
+            readBuffer = ByteBuffer.wrap(buffer);
+            bufferShared = false;
+        } else if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        readBuffer.clear().position(limit);
+        int read = channel.read(readBuffer);
+        while (read == 0 && !nonBlocking) {
+            read = channel.read(readBuffer);
+        }
+        if (read == 0) {
+            starved = true;
+        } else if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Reads a ByteBuffer from its position to its limit.
+     */
+    private static final class BufferChannel implements ReadableByteChannel {
+        private final ByteBuffer content;
+
+        BufferChannel(ByteBuffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(ByteBuffer target) {
+            if (!content.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(target.remaining(), content.remaining());
+            int limit = content.limit();
+            content.limit(content.position() + count);
+            target.put(content);
+            content.limit(limit);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
\ No newline at end of file
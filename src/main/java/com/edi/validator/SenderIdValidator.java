@@ -0,0 +1,36 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.rules.ElementCheck;
+import com.edi.validator.rules.ElementRule;
+
+/**
+ * Requires a sender ID element to start with a partner's prefix. Segments too short to hold
+ * the element are left to the base validator, which reports the missing fields.
+ */
+public class SenderIdValidator implements EDISegmentValidator {
+    private final String segmentCode;
+    private final int index;
+    private final ElementRule rule;
+
+    public SenderIdValidator(String segmentCode, int index, String prefix) {
+        this.segmentCode = segmentCode;
+        this.index = index;
+        this.rule = ElementRule.of(segmentCode, index, "Sender ID", ElementCheck.prefix(prefix),
+            "Invalid sender ID: ", " (must start with " + prefix + ")");
+    }
+
+    @Override
+    public void validate(EDISegment segment, ValidationErrorSink sink) {
+        if (segment.getFieldCount() > index) {
+            rule.apply(segment, sink);
+        }
+    }
+
+    @Override
+    public String getSegmentCode() {
+        return segmentCode;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.model.ValidationErrorList;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-call state of one validation run: where errors go, the error limits, the segment codes
+ * seen and the current segment position. A context belongs to a single {@code validate} call and
+ * is not shared between threads; the validator itself keeps no per-file state.
+ *
+ * <p>By default errors are collected into a {@link ValidationErrorList}. A context created with a
+ * {@link ValidationErrorSink} passes each error on as soon as it is found and keeps none, so
+ * memory use does not grow with the number of errors.</p>
+ *
+ * <p>Errors beyond the {@link ValidationLimits} are dropped. Once the total limit is reached the
+ * context is {@linkplain #isStopped() stopped} and the validator stops reading.</p>
+ *
+ * <p>The validator passes each segment's id from its {@link SegmentDispatchTable}, so segment
+ * occurrences and per segment type error counts are kept in arrays indexed by id, for the whole
+ * file and for the current transaction set. Only tags the table does not know are tracked by
+ * name, and only for the whole file.</p>
+ */
+public final class ValidationContext implements ValidationErrorSink {
+    private final ValidationErrorSink sink;
+    private final List<ValidationError> errors;
+    private final ValidationLimits limits;
+    private SegmentDispatchTable tags;
+    private SegmentPresence fileSegments = new SegmentPresence(0);
+    private SegmentPresence transactionSetSegments = new SegmentPresence(0);
+    private int[] errorsByTag = new int[0];
+    // Tags without an id
+    private final Map<String, int[]> unknownSegments = new HashMap<>();
+    private Map<String, int[]> errorsBySegmentType;
+    private String segmentCode;
+    private int tagId = -1;
+    private int lineNumber;
+    private int segmentCount;
+    private boolean inTransactionSet;
+    private int transactionSetStart;
+    private int transactionSetCount;
+    private int segmentErrors;
+    private long errorCount;
+    private boolean stopped;
+
+    /**
+     * Creates a context that collects every error, see {@link #getErrors()}.
+     */
+    public ValidationContext() {
+        this(ValidationLimits.NONE);
+    }
+
+    /**
+     * Creates a context that collects errors up to {@code limits}.
+     */
+    public ValidationContext(ValidationLimits limits) {
+        this.errors = new ValidationErrorList();
+        this.sink = errors::add;
+        this.limits = limits;
+    }
+
+    /**
+     * Creates a context that streams errors to {@code sink} without keeping them.
+     */
+    public ValidationContext(ValidationErrorSink sink) {
+        this(sink, ValidationLimits.NONE);
+    }
+
+    /**
+     * Creates a context that streams errors up to {@code limits} to {@code sink}.
+     */
+    public ValidationContext(ValidationErrorSink sink, ValidationLimits limits) {
+        this.errors = Collections.emptyList();
+        this.sink = sink;
+        this.limits = limits;
+    }
+
+    /**
+     * Returns the collected errors, or an empty list when errors are streamed to a sink.
+     */
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of errors reported so far, whether collected or streamed.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public ValidationLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns true once the total error limit has been reached.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns the position of the segment being validated, or of the last segment once the
+     * whole input has been read.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the number of segments read so far.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public boolean isSegmentPresent(String segmentCode) {
+        return getOccurrences(segmentCode) > 0;
+    }
+
+    /**
+     * Returns how often {@code segmentCode} occurred in the input read so far.
+     */
+    public int getOccurrences(String segmentCode) {
+        int id = tagId(segmentCode);
+        if (id >= 0) {
+            return fileSegments.getOccurrences(id);
+        }
+        int[] count = unknownSegments.get(segmentCode);
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Returns true if {@code segmentCode} occurred in the current or last transaction set. Tags
+     * the validator has no id for are never reported present.
+     */
+    public boolean isSegmentPresentInTransactionSet(String segmentCode) {
+        int id = tagId(segmentCode);
+        return id >= 0 && transactionSetSegments.contains(id);
+    }
+
+    /**
+     * Returns the number of transaction sets (ST segments) read so far.
+     */
+    public int getTransactionSetCount() {
+        return transactionSetCount;
+    }
+
+    /**
+     * Returns false if errors for {@code segmentCode} would be dropped, in which case validating
+     * such a segment is wasted work.
+     */
+    public boolean acceptsErrorsFor(String segmentCode) {
+        return acceptsErrorsFor(tagId(segmentCode), segmentCode);
+    }
+
+    /**
+     * Same as {@link #acceptsErrorsFor(String)} for a tag id of the bound table, or -1.
+     */
+    boolean acceptsErrorsFor(int tagId, String segmentCode) {
+        if (stopped) {
+            return false;
+        }
+        int max = limits.getMaxErrorsPerSegmentType();
+        if (max == 0) {
+            return true;
+        }
+        if (tagId >= 0) {
+            return errorsByTag[tagId] < max;
+        }
+        int[] count = errorsBySegmentType != null ? errorsBySegmentType.get(segmentCode) : null;
+        return count == null || count[0] < max;
+    }
+
+    @Override
+    public void accept(ValidationError error) {
+        if (!acceptsMore()) {
+            return;
+        }
+        segmentErrors++;
+        deliver(error);
+    }
+
+    @Override
+    public boolean acceptsMore() {
+        if (limits.isFirstErrorPerSegment() && segmentErrors > 0) {
+            return false;
+        }
+        return segmentCode == null ? !stopped : acceptsErrorsFor(tagId, segmentCode);
+    }
+
+    /**
+     * Adds an error reported at the current segment position.
+     */
+    public void addError(String segmentCode, String fieldName, String message) {
+        deliver(new ValidationError(segmentCode, fieldName, message, lineNumber));
+    }
+
+    /**
+     * Adds an error with a registered message at the current segment position.
+     * @param messageCode Code from the {@link com.edi.validator.model.MessageCatalog}
+     * @param argument The message's argument, an {@code Object[]} if it takes several, or null
+     */
+    public void addError(int messageCode, Object argument) {
+        deliver(new ValidationError(messageCode, argument, lineNumber));
+    }
+
+    /**
+     * Adds errors found away from the reading thread. They have already been limited per
+     * segment, so only the total and per segment type limits apply.
+     */
+    void addErrors(List<ValidationError> found) {
+        for (ValidationError error : found) {
+            deliver(error);
+        }
+    }
+
+    /**
+     * Takes on the result of an earlier run over the same input with the same limits.
+     */
+    void restore(List<ValidationError> found, int segmentCount) {
+        addErrors(found);
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * Numbers segment tags by the ids of {@code table}, or of any table with the same ids.
+     */
+    void bind(SegmentDispatchTable table) {
+        this.tags = table;
+        this.fileSegments = new SegmentPresence(table.size());
+        this.transactionSetSegments = new SegmentPresence(table.size());
+        this.errorsByTag = Arrays.copyOf(errorsByTag, table.size());
+    }
+
+    /**
+     * Moves to the next segment read from the input.
+     * @param tagId Id of the tag in the bound table, or -1 if it has none
+     */
+    void startSegment(int lineNumber, int tagId, String segmentCode) {
+        this.lineNumber = lineNumber;
+        this.segmentCode = segmentCode;
+        this.tagId = tagId;
+        this.segmentErrors = 0;
+        this.segmentCount++;
+        if (tagId >= 0) {
+            fileSegments.add(tagId);
+            if (inTransactionSet) {
+                transactionSetSegments.add(tagId);
+            }
+        } else {
+            unknownSegments.computeIfAbsent(segmentCode, code -> new int[1])[0]++;
+        }
+    }
+
+    /**
+     * Opens a transaction set at the current segment, its ST header.
+     */
+    void startTransactionSet() {
+        transactionSetSegments.reset();
+        inTransactionSet = true;
+        transactionSetStart = lineNumber;
+        transactionSetCount++;
+        if (tagId >= 0) {
+            transactionSetSegments.add(tagId);
+        }
+    }
+
+    /**
+     * Closes the open transaction set; its segments stay available until the next one opens.
+     */
+    void endTransactionSet() {
+        inTransactionSet = false;
+    }
+
+    boolean isInTransactionSet() {
+        return inTransactionSet;
+    }
+
+    /**
+     * Returns the position of the ST header of the current or last transaction set.
+     */
+    int getTransactionSetStart() {
+        return transactionSetStart;
+    }
+
+    SegmentPresence getTransactionSetSegments() {
+        return transactionSetSegments;
+    }
+
+    /**
+     * Marks the end of the input; later errors are not tied to a segment.
+     */
+    void endOfInput() {
+        segmentCode = null;
+        tagId = -1;
+        segmentErrors = 0;
+    }
+
+    private void deliver(ValidationError error) {
+        if (stopped) {
+            return;
+        }
+        int max = limits.getMaxErrorsPerSegmentType();
+        if (max > 0) {
+            String errorSegmentCode = error.getSegmentCode();
+            int id = errorSegmentCode == segmentCode ? tagId : tagId(errorSegmentCode);
+            if (id >= 0) {
+                if (errorsByTag[id] >= max) {
+                    return;
+                }
+                errorsByTag[id]++;
+            } else {
+                if (errorsBySegmentType == null) {
+                    errorsBySegmentType = new HashMap<>();
+                }
+                int[] count = errorsBySegmentType.computeIfAbsent(errorSegmentCode, code -> new int[1]);
+                if (count[0] >= max) {
+                    return;
+                }
+                count[0]++;
+            }
+        }
+        errorCount++;
+        sink.accept(error);
+        if (limits.getMaxErrors() > 0 && errorCount >= limits.getMaxErrors()) {
+            stopped = true;
+        }
+    }
+
+    private int tagId(String segmentCode) {
+        if (tags == null || segmentCode == null) {
+            return -1;
+        }
+        SegmentDispatchTable.Entry entry = tags.lookup(segmentCode);
+        return entry != null ? entry.getId() : -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.edi.validator;
+
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.model.ValidationErrorList;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes lists of validation errors for the on-disk caches. Message codes only hold
+ * within one JVM, so each error is stored with its catalog message and its arguments as text, and
+ * the message is registered again when read. Line numbers are stored relative to a base, so
+ * errors of a member loop can be replayed wherever the loop moves to. Arguments quote element
+ * values of any length, so they are written as length-prefixed UTF-8 rather than with
+ * {@link DataOutput#writeUTF}, which stops at 65,535 bytes.
+ */
+final class ValidationErrorCodec {
+    private ValidationErrorCodec() {
+    }
+
+    static void write(DataOutput out, List<ValidationError> errors, int lineBase) throws IOException {
+        out.writeInt(errors.size());
+        for (ValidationError error : errors) {
+            String segmentCode = MessageCatalog.getSegmentCode(error.getCode());
+            out.writeBoolean(segmentCode != null);
+            if (segmentCode != null) {
+                out.writeUTF(segmentCode);
+            }
+            out.writeUTF(error.getField());
+            out.writeUTF(MessageCatalog.getTemplate(error.getCode()));
+            Object[] arguments = error.getArguments();
+            out.writeByte(arguments.length);
+            for (Object argument : arguments) {
+                writeString(out, String.valueOf(argument));
+            }
+            out.writeInt(error.getElementIndex());
+            out.writeInt(error.getLineNumber() - lineBase);
+        }
+    }
+
+    static List<ValidationError> read(DataInput in, int lineBase) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid error count: " + count);
+        }
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<ValidationError> errors = new ValidationErrorList();
+        for (int i = 0; i < count; i++) {
+            String segmentCode = in.readBoolean() ? in.readUTF() : null;
+            int code = MessageCatalog.register(segmentCode, in.readUTF(), in.readUTF());
+            int argumentCount = in.readUnsignedByte();
+            Object argument = null;
+            if (argumentCount == 1) {
+                argument = readString(in);
+            } else if (argumentCount > 1) {
+                Object[] arguments = new Object[argumentCount];
+                for (int j = 0; j < argumentCount; j++) {
+                    arguments[j] = readString(in);
+                }
+                argument = arguments;
+            }
+            int elementIndex = in.readInt();
+            errors.add(new ValidationError(code, elementIndex, argument, in.readInt() + lineBase));
+        }
+        return errors;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
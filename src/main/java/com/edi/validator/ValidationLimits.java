@@ -0,0 +1,73 @@
+package com.edi.validator;
+
+/**
+ * Limits on how many errors one validation run reports. Once the total limit is reached the run
+ * stops reading the file, so a gate that only needs to know whether a file is acceptable can use
+ * {@link #failFast()} and return at the first error. A value of 0 means unlimited.
+ *
+ * <p>Instances are immutable; the {@code with} methods return modified copies.</p>
+ */
+public final class ValidationLimits {
+    /** Reports every error. */
+    public static final ValidationLimits NONE = new ValidationLimits(0, 0, false);
+
+    private final int maxErrors;
+    private final int maxErrorsPerSegmentType;
+    private final boolean firstErrorPerSegment;
+
+    private ValidationLimits(int maxErrors, int maxErrorsPerSegmentType, boolean firstErrorPerSegment) {
+        if (maxErrors < 0 || maxErrorsPerSegmentType < 0) {
+            throw new IllegalArgumentException("Error limits must not be negative");
+        }
+        this.maxErrors = maxErrors;
+        this.maxErrorsPerSegmentType = maxErrorsPerSegmentType;
+        this.firstErrorPerSegment = firstErrorPerSegment;
+    }
+
+    /**
+     * Stops at the first error.
+     */
+    public static ValidationLimits failFast() {
+        return NONE.withMaxErrors(1);
+    }
+
+    /**
+     * Stops reading once {@code maxErrors} errors have been reported.
+     */
+    public ValidationLimits withMaxErrors(int maxErrors) {
+        return new ValidationLimits(maxErrors, maxErrorsPerSegmentType, firstErrorPerSegment);
+    }
+
+    /**
+     * Reports at most {@code maxErrors} errors for each segment code; once a code reaches the
+     * limit its segments are no longer validated.
+     */
+    public ValidationLimits withMaxErrorsPerSegmentType(int maxErrors) {
+        return new ValidationLimits(this.maxErrors, maxErrors, firstErrorPerSegment);
+    }
+
+    /**
+     * Skips the remaining checks of a segment after its first error.
+     */
+    public ValidationLimits withFirstErrorPerSegment() {
+        return new ValidationLimits(maxErrors, maxErrorsPerSegmentType, true);
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public int getMaxErrorsPerSegmentType() {
+        return maxErrorsPerSegmentType;
+    }
+
+    public boolean isFirstErrorPerSegment() {
+        return firstErrorPerSegment;
+    }
+
+    @Override
+    public String toString() {
+        return "maxErrors=" + maxErrors + ", maxErrorsPerSegmentType=" + maxErrorsPerSegmentType
+            + ", firstErrorPerSegment=" + firstErrorPerSegment;
+    }
+}
\ No newline at end of file
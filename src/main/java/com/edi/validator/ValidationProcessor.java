@@ -0,0 +1,281 @@
+package com.edi.validator;
+
+import com.edi.validator.model.RawSegment;
+import com.edi.validator.model.ValidationEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Validates X12 bytes pushed through {@link Flow}: subscribes to a publisher of ByteBuffers and
+ * publishes a {@link ValidationEvent} for every segment and every error, in input order.
+ *
+ * <p>Demand drives the work. Segments are only tokenized and validated while the subscriber has
+ * events outstanding, and the next buffer is requested from upstream only once the bytes received
+ * hold no further complete segment, so the processor holds one buffer and one partial segment at
+ * most. The work runs on whichever thread delivers a buffer or a request and never waits for
+ * input, so a payload can be validated as it comes off a socket without a temporary file.</p>
+ *
+ * <p>Buffers are read from their position to their limit after {@code onNext} returns; a
+ * publisher must not reuse a buffer it has delivered. Segment events point into the processor's
+ * own chunks and stay valid. One subscriber is supported. When the stop limit of the
+ * {@link ValidationLimits} is reached the stream completes early and the upstream subscription
+ * is cancelled. Segments are numbered by their position in the stream, as in
+ * {@link EDIValidator#validate(String, ValidationContext)}.</p>
+ */
+public final class ValidationProcessor implements Flow.Processor<ByteBuffer, ValidationEvent> {
+    private final ValidationContext context;
+    private final EDIValidator.Run run;
+    private final BufferFeed feed = new BufferFeed();
+    private final SegmentTokenizer tokenizer = SegmentTokenizer.nonBlocking(feed);
+    private final Queue<ValidationEvent> events = new ArrayDeque<>();
+    private final AtomicReference<Flow.Subscriber<? super ValidationEvent>> downstream = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    // Counts drain() calls; only the caller that raises it from zero drains, the others ask it to loop
+    private final AtomicInteger work = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile ByteBuffer received;
+    private volatile boolean upstreamDone;
+    private volatile Throwable failure;
+    private volatile boolean cancelled;
+
+    // Only touched while draining
+    private boolean awaitingBuffer;
+    private boolean upstreamCancelled;
+    private boolean finished;
+    private boolean terminated;
+
+    ValidationProcessor(EDIValidator validator, ValidationLimits limits) {
+        this.context = new ValidationContext(error -> events.add(ValidationEvent.error(error)), limits);
+        this.run = validator.new Run(context);
+    }
+
+    /**
+     * Returns the state of the validation, such as segment presence and error count. Read it
+     * once the stream has completed.
+     */
+    public ValidationContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ValidationEvent> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("ValidationProcessor supports a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Requested " + n + " events; demand must be positive");
+                } else {
+                    requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        received = Objects.requireNonNull(buffer, "buffer");
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = Objects.requireNonNull(throwable, "throwable");
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (work.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super ValidationEvent> subscriber = downstream.get();
+            if (subscriber != null && !terminated) {
+                emit(subscriber);
+            }
+            if (terminated && !upstreamCancelled && upstream != null) {
+                upstreamCancelled = true;
+                if (!upstreamDone) {
+                    upstream.cancel();
+                }
+            }
+            missed = work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Delivers events while there is demand, validating further segments as needed, until the
+     * subscriber wants no more, input is needed, or the stream has ended.
+     */
+    private void emit(Flow.Subscriber<? super ValidationEvent> subscriber) {
+        while (true) {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            Throwable error = failure;
+            if (error != null) {
+                terminate();
+                subscriber.onError(error);
+                return;
+            }
+            if (!events.isEmpty()) {
+                long demand = requested.get();
+                if (demand == 0) {
+                    return;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                subscriber.onNext(events.poll());
+                continue;
+            }
+            if (finished) {
+                terminate();
+                subscriber.onComplete();
+                return;
+            }
+            if (requested.get() == 0) {
+                return;
+            }
+            try {
+                if (!advance()) {
+                    return;
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Validates the next segment, or runs the end-of-input checks. Returns false if that needs
+     * bytes that have not arrived yet, after requesting them.
+     */
+    private boolean advance() throws IOException {
+        // A buffer delivered before the completion signal is read before it
+        boolean done = upstreamDone;
+        ByteBuffer buffer = received;
+        if (buffer != null) {
+            received = null;
+            awaitingBuffer = false;
+            feed.offer(buffer);
+        }
+        if (done) {
+            feed.end();
+        }
+
+        RawSegment raw = context.isStopped() ? null : tokenizer.next();
+        if (raw != null) {
+            int segmentNumber = tokenizer.getSegmentCount();
+            events.add(ValidationEvent.segment(raw.copy(), segmentNumber));
+            run.accept(raw, segmentNumber);
+            return true;
+        }
+        if (tokenizer.needsInput() && !context.isStopped()) {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null && !awaitingBuffer) {
+                awaitingBuffer = true;
+                subscription.request(1);
+            }
+            return false;
+        }
+        run.finish();
+        finished = true;
+        return true;
+    }
+
+    private void terminate() {
+        terminated = true;
+        events.clear();
+    }
+
+    /**
+     * Hands the bytes of delivered buffers to the tokenizer. A read finds no bytes until the
+     * next buffer is offered, and end of input once the upstream has completed.
+     */
+    private static final class BufferFeed implements ReadableByteChannel {
+        private ByteBuffer current;
+        private boolean ended;
+
+        void offer(ByteBuffer buffer) {
+            // The publisher's position and limit are left alone
+            current = buffer.duplicate();
+        }
+
+        void end() {
+            ended = true;
+        }
+
+        @Override
+        public int read(ByteBuffer target) {
+            if (current == null || !current.hasRemaining()) {
+                return ended ? -1 : 0;
+            }
+            int length = Math.min(target.remaining(), current.remaining());
+            ByteBuffer slice = current.slice();
+            slice.limit(length);
+            target.put(slice);
+            current.position(current.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
\ No newline at end of file
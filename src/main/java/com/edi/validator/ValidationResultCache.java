@@ -0,0 +1,264 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk store of whole-file validation results, for inputs that are submitted again byte
+ * for byte. A result is keyed by the SHA-256 of the file's content together with the
+ * validator's ruleset ID and the error limits, so a repeat costs one streaming hash pass
+ * instead of a parse and validation.
+ *
+ * <p>Each result is one file in the cache directory. The least recently used results are
+ * deleted once the directory holds more than its size limit; use times survive restarts as the
+ * files' modification times. One cache may be shared by threads of one process; concurrent
+ * processes may only cost each other extra misses. The cache is best-effort: a result that
+ * cannot be stored is only a miss the next time.</p>
+ */
+public final class ValidationResultCache {
+    /** Size limit used by {@link #open(Path)}. */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final String SUFFIX = ".result";
+    private static final int MAGIC = 0x45444952;
+    private static final int FORMAT_VERSION = 3;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final long maxBytes;
+    // Result file sizes by key, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    private ValidationResultCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ValidationResultCache open(Path directory) throws IOException {
+        return open(directory, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Opens the cache in {@code directory}, creating the directory if needed.
+     * @param maxBytes Total size of the stored results above which the least recently used are deleted
+     */
+    public static ValidationResultCache open(Path directory, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1");
+        }
+        Files.createDirectories(directory);
+        ValidationResultCache cache = new ValidationResultCache(directory, maxBytes);
+        List<Path> files;
+        try (Stream<Path> children = Files.list(directory)) {
+            files = children.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .collect(Collectors.toList());
+        }
+        List<Map.Entry<Path, FileTime>> byUse = new ArrayList<>();
+        for (Path file : files) {
+            byUse.add(Map.entry(file, Files.getLastModifiedTime(file)));
+        }
+        byUse.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        for (Map.Entry<Path, FileTime> entry : byUse) {
+            String name = entry.getKey().getFileName().toString();
+            long size = Files.size(entry.getKey());
+            cache.entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            cache.totalBytes += size;
+        }
+        cache.evict();
+        return cache;
+    }
+
+    /**
+     * Returns the key of a file's result: a digest of its content, {@code rulesetId} and
+     * {@code limits}, read in one streaming pass.
+     */
+    static String keyFor(Path file, String rulesetId, ValidationLimits limits) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        digest.update((byte) 0);
+        digest.update((rulesetId + '\0' + limits).getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns what changes when a file is written to or replaced: its size, modification time and
+     * file key. A file whose version is the same before its hash pass and after its validation
+     * was not written to in between, so its result belongs to the hashed content.
+     */
+    static List<Object> versionOf(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return Arrays.asList(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+    }
+
+    /**
+     * Returns the stored result for {@code key}, marking it as recently used, or null if there is none.
+     */
+    synchronized Result get(String key) {
+        if (entries.get(key) == null) {
+            misses++;
+            return null;
+        }
+        Path file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key)) {
+                throw new IOException("Not a result for " + key);
+            }
+            int segmentCount = in.readInt();
+            List<ValidationError> errors = ValidationErrorCodec.read(in, 0);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits++;
+            return new Result(errors, segmentCount);
+        } catch (IOException | RuntimeException e) {
+            // Deleted or damaged behind our back; validate the file again
+            remove(key);
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result of validating a file, then deletes the least recently used results
+     * while the cache is over its size limit. The file is written without holding the cache's
+     * lock, to a temp file of its own, so threads storing results do not wait on each other;
+     * only the index update is synchronized.
+     * @throws IOException if the result cannot be written; the cache is unchanged
+     */
+    void put(String key, List<ValidationError> errors, int segmentCount) throws IOException {
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(segmentCount);
+                ValidationErrorCodec.write(out, errors, 0);
+            }
+            long size = Files.size(temp);
+            Files.move(temp, fileFor(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long previous = entries.put(key, size);
+                totalBytes += size - (previous != null ? previous : 0);
+                evict();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the total size of the stored results in bytes.
+     */
+    public synchronized long getSize() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> oldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && oldest.hasNext()) {
+            Map.Entry<String, Long> entry = oldest.next();
+            try {
+                Files.deleteIfExists(fileFor(entry.getKey()));
+            } catch (IOException e) {
+                // Indexed again, and evicted in turn, when the cache is next opened
+            }
+            totalBytes -= entry.getValue();
+            oldest.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            // Indexed again, and evicted in turn, when the cache is next opened
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A stored validation result.
+     */
+    static final class Result {
+        private final List<ValidationError> errors;
+        private final int segmentCount;
+
+        Result(List<ValidationError> errors, int segmentCount) {
+            this.errors = errors;
+            this.segmentCount = segmentCount;
+        }
+
+        List<ValidationError> getErrors() {
+            return errors;
+        }
+
+        int getSegmentCount() {
+            return segmentCount;
+        }
+    }
+}
\ No newline at end of file
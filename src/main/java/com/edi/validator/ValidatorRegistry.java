@@ -0,0 +1,136 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.PartnerRules;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+/**
+ * The segment validators and partner profiles available to an {@link EDIValidator}.
+ *
+ * <p>{@link #load()} discovers base validators as {@link EDISegmentValidator} services and
+ * partner rules as {@link PartnerRules} services, so a jar on the class path can add segments or
+ * partners without changes here. Each partner profile is composed when the registry is built;
+ * an interchange is validated with the first profile whose partner matches its ISA sender ID,
+ * or with the default profile of base validators only.</p>
+ */
+public final class ValidatorRegistry {
+    private static final ValidatorRegistry DEFAULT = load(ValidatorRegistry.class.getClassLoader());
+
+    private final PartnerProfile defaultProfile;
+    private final List<PartnerProfile> partnerProfiles;
+    private final String rulesetId;
+
+    private ValidatorRegistry(PartnerProfile defaultProfile, List<PartnerProfile> partnerProfiles) {
+        this.defaultProfile = defaultProfile;
+        this.partnerProfiles = Collections.unmodifiableList(partnerProfiles);
+        this.rulesetId = computeRulesetId();
+    }
+
+    /**
+     * Returns the registry of the services on this library's class path, loaded once.
+     */
+    public static ValidatorRegistry load() {
+        return DEFAULT;
+    }
+
+    /**
+     * Discovers base validators and partner rules through {@code classLoader}. A later validator
+     * for a segment code replaces an earlier one.
+     */
+    public static ValidatorRegistry load(ClassLoader classLoader) {
+        Map<String, EDISegmentValidator> validators = new LinkedHashMap<>();
+        for (EDISegmentValidator validator : ServiceLoader.load(EDISegmentValidator.class, classLoader)) {
+            validators.put(validator.getSegmentCode(), validator);
+        }
+        List<PartnerRules> partners = new ArrayList<>();
+        ServiceLoader.load(PartnerRules.class, classLoader).forEach(partners::add);
+        return of(validators, partners);
+    }
+
+    /**
+     * Builds a registry from explicit validators and partner rules.
+     * @param validators Base validators keyed by segment code
+     * @param partners Partner rules, matched in this order
+     */
+    public static ValidatorRegistry of(Map<String, EDISegmentValidator> validators, List<PartnerRules> partners) {
+        List<PartnerProfile> profiles = new ArrayList<>();
+        for (PartnerRules rules : partners) {
+            profiles.add(PartnerProfile.compose(rules, validators));
+        }
+        return new ValidatorRegistry(PartnerProfile.base(validators), profiles);
+    }
+
+    /**
+     * Returns the base validators keyed by segment code.
+     */
+    public Map<String, EDISegmentValidator> getValidators() {
+        return defaultProfile.getValidators();
+    }
+
+    public PartnerProfile getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    public List<PartnerProfile> getPartnerProfiles() {
+        return partnerProfiles;
+    }
+
+    /**
+     * Returns the profile for an interchange from {@code senderId}, or the default profile.
+     */
+    public PartnerProfile profileFor(String senderId) {
+        for (PartnerProfile profile : partnerProfiles) {
+            if (profile.appliesTo(senderId)) {
+                return profile;
+            }
+        }
+        return defaultProfile;
+    }
+
+    /**
+     * Returns a digest of the profiles and the validator classes each runs, in order. It changes
+     * whenever a validator or partner is added, removed or replaced, so results cached under it
+     * are not reused with other rules.
+     */
+    public String getRulesetId() {
+        return rulesetId;
+    }
+
+    static String describe(EDISegmentValidator validator) {
+        return validator instanceof CompositeSegmentValidator ? validator.toString() : validator.getClass().getName();
+    }
+
+    private String computeRulesetId() {
+        StringBuilder description = new StringBuilder();
+        List<PartnerProfile> profiles = new ArrayList<>();
+        profiles.add(defaultProfile);
+        profiles.addAll(partnerProfiles);
+        for (PartnerProfile profile : profiles) {
+            description.append(profile.getName()).append('{');
+            new TreeMap<>(profile.getValidators()).forEach((segmentCode, validator) ->
+                description.append(segmentCode).append('=').append(describe(validator)).append(';'));
+            description.append('}');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(description.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
\ No newline at end of file
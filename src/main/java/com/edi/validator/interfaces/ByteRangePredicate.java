@@ -0,0 +1,16 @@
+package com.edi.validator.interfaces;
+
+/**
+ * A test over a range of bytes, typically one element in the buffer a segment was read from.
+ * Implementations read the bytes in place and must not keep a reference to the array.
+ */
+@FunctionalInterface
+public interface ByteRangePredicate {
+    /**
+     * @param data Buffer holding the bytes
+     * @param from Index of the first byte
+     * @param to Index one past the last byte
+     * @return true if the bytes pass the test
+     */
+    boolean test(byte[] data, int from, int to);
+}
\ No newline at end of file
@@ -2,19 +2,32 @@ package com.edi.validator.interfaces;
 
 import com.edi.validator.model.EDISegment;
 import com.edi.validator.model.ValidationError;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface EDISegmentValidator {
+    /**
+     * Validates an EDI segment and passes every error found to {@code sink}. Implementations do
+     * not allocate when the segment is valid.
+     * @param segment The EDI segment to validate
+     * @param sink Receives the validation errors
+     */
+    void validate(EDISegment segment, ValidationErrorSink sink);
+
     /**
      * Validates an EDI segment and returns a list of validation errors.
      * @param segment The EDI segment to validate
      * @return List of validation errors, empty if no errors found
      */
-    List<ValidationError> validate(EDISegment segment);
+    default List<ValidationError> validate(EDISegment segment) {
+        List<ValidationError> errors = new ArrayList<>();
+        validate(segment, errors::add);
+        return errors;
+    }
 
     /**
      * Returns the segment code this validator handles
      * @return The segment code (e.g., "ISA", "GS", etc.)
      */
     String getSegmentCode();
-} 
\ No newline at end of file
+}
\ No newline at end of file
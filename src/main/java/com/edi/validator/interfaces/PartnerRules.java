@@ -0,0 +1,29 @@
+package com.edi.validator.interfaces;
+
+import java.util.List;
+
+/**
+ * Extra segment validators for one trading partner, discovered with {@link java.util.ServiceLoader}.
+ * They run in addition to the base validators, and only on interchanges from that partner.
+ * Implementations are listed in {@code META-INF/services/com.edi.validator.interfaces.PartnerRules}
+ * and need a public no-argument constructor.
+ */
+public interface PartnerRules {
+    /**
+     * Returns a short name for the partner, used in messages and logs.
+     */
+    String getPartnerName();
+
+    /**
+     * Returns true if these rules apply to interchanges from {@code senderId}.
+     * @param senderId The interchange sender ID (ISA06) with trailing padding removed
+     * @return true if this partner sent the interchange
+     */
+    boolean appliesTo(String senderId);
+
+    /**
+     * Returns the partner's validators. A validator for a segment that also has a base validator
+     * runs before the base one.
+     */
+    List<EDISegmentValidator> getValidators();
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.edi.validator.interfaces;
+
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.RawSegment;
+
+/**
+ * Builds the model object for one segment type, usually a constructor reference such as
+ * {@code INSSegment::new}.
+ */
+@FunctionalInterface
+public interface SegmentConstructor {
+    /**
+     * @param raw The tokenized segment; only valid for the duration of the call
+     * @param lineNumber Position of the segment in the file
+     * @return The segment model
+     */
+    EDISegment create(RawSegment raw, int lineNumber);
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.edi.validator.interfaces;
+
+import com.edi.validator.model.ValidationError;
+
+/**
+ * Receives validation errors as they are found. A sink can write errors out, count or sample
+ * them, or collect them into a list; nothing is buffered unless the sink does it.
+ */
+@FunctionalInterface
+public interface ValidationErrorSink {
+    /**
+     * Called once per error, in file order.
+     * @param error The validation error
+     */
+    void accept(ValidationError error);
+
+    /**
+     * Returns false once the sink wants no further errors for the current segment, letting
+     * validators skip their remaining checks.
+     * @return true if more errors would be accepted
+     */
+    default boolean acceptsMore() {
+        return true;
+    }
+}
\ No newline at end of file
@@ -7,6 +7,10 @@ public class AMTSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public AMTSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getAmountQualifierCode() {
         return getField(1);
     }
@@ -7,6 +7,10 @@ public class BGNSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public BGNSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getTransactionSetPurposeCode() {
         return getField(1);
     }
@@ -7,6 +7,10 @@ public class DMGSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public DMGSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getDateTimeFormatQualifier() {
         return getField(1);
     }
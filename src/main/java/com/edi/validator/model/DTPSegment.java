@@ -7,6 +7,10 @@ public class DTPSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public DTPSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getDateTimeQualifier() {
         return getField(1);
     }
@@ -1,19 +1,42 @@
 package com.edi.validator.model;
 
-import java.util.Arrays;
+import com.edi.validator.interfaces.ByteRangePredicate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
 import java.util.List;
 
+/**
+ * Base class for segment models. A segment does not split its text up front: it keeps a
+ * reference to the buffer it was read from plus the start offset of every element, and only
+ * builds a String when a field value is actually requested. {@link #fieldEquals(int, String)}
+ * compares a field against an expected code without allocating.
+ */
 public abstract class EDISegment {
     protected final String segmentCode;
-    protected final String rawLine;
     protected final int lineNumber;
-    protected final List<String> fields;
+    private final byte[] data;
+    private final int start;
+    private final int length;
+    private final int[] offsets;
+    private final int offsetBase;
+    private final int fieldCount;
+    private String rawLine;
 
     protected EDISegment(String segmentCode, String line, int lineNumber) {
-        this.segmentCode = segmentCode;
+        this(segmentCode, RawSegment.parse(line, (byte) '*'), lineNumber);
         this.rawLine = line;
+    }
+
+    protected EDISegment(String segmentCode, RawSegment raw, int lineNumber) {
+        this.segmentCode = segmentCode;
         this.lineNumber = lineNumber;
-        this.fields = Arrays.asList(line.split("\\*"));
+        this.data = raw.getData();
+        this.start = raw.getStart();
+        this.length = raw.getLength();
+        this.offsets = raw.getOffsets();
+        this.offsetBase = raw.getOffsetBase();
+        this.fieldCount = raw.getFieldCount();
     }
 
     public String getSegmentCode() {
@@ -21,6 +44,9 @@ public abstract class EDISegment {
     }
 
     public String getRawLine() {
+        if (rawLine == null) {
+            rawLine = new String(data, start, length, StandardCharsets.ISO_8859_1);
+        }
         return rawLine;
     }
 
@@ -28,14 +54,100 @@ public abstract class EDISegment {
         return lineNumber;
     }
 
+    /**
+     * Returns the elements as a list whose values are built on access. Prefer
+     * {@link #getFieldCount()} when only the number of elements is needed.
+     */
     public List<String> getFields() {
-        return fields;
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= fieldCount) {
+                    throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+                }
+                return getField(index);
+            }
+
+            @Override
+            public int size() {
+                return fieldCount;
+            }
+        };
     }
 
-    protected String getField(int index) {
-        if (index < 0 || index >= fields.size()) {
+    /**
+     * Returns the number of elements including the segment identifier at index 0.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public String getField(int index) {
+        if (index < 0 || index >= fieldCount) {
             return "";
         }
-        return fields.get(index);
+        int from = fieldStart(index);
+        return new String(data, from, fieldEnd(index) - from, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the length of a field in bytes, 0 for fields that are absent.
+     */
+    public int getFieldLength(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return 0;
+        }
+        return fieldEnd(index) - fieldStart(index);
+    }
+
+    public boolean isFieldEmpty(int index) {
+        return getFieldLength(index) == 0;
+    }
+
+    /**
+     * Returns the byte at {@code position} within a field; the caller checks the position
+     * against {@link #getFieldLength(int)}.
+     */
+    public byte getFieldByte(int index, int position) {
+        return data[fieldStart(index) + position];
+    }
+
+    /**
+     * Tests a field's bytes in place, without building a String. Absent fields are tested as
+     * an empty range.
+     */
+    public boolean testField(int index, ByteRangePredicate check) {
+        if (index < 0 || index >= fieldCount) {
+            return check.test(data, start, start);
+        }
+        return check.test(data, fieldStart(index), fieldEnd(index));
+    }
+
+    /**
+     * Compares a field with an expected code without building a String. Absent fields equal "".
+     */
+    public boolean fieldEquals(int index, String expected) {
+        int fieldLength = getFieldLength(index);
+        if (fieldLength != expected.length()) {
+            return false;
+        }
+        if (fieldLength == 0) {
+            return true;
+        }
+        int from = fieldStart(index);
+        for (int i = 0; i < fieldLength; i++) {
+            if ((data[from + i] & 0xFF) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int fieldStart(int index) {
+        return start + offsets[offsetBase + index];
+    }
+
+    private int fieldEnd(int index) {
+        return start + offsets[offsetBase + index + 1] - 1;
     }
-} 
\ No newline at end of file
+}
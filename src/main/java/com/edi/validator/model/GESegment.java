@@ -0,0 +1,21 @@
+package com.edi.validator.model;
+
+public class GESegment extends EDISegment {
+    public static final String SEGMENT_CODE = "GE";
+
+    public GESegment(String line, int lineNumber) {
+        super(SEGMENT_CODE, line, lineNumber);
+    }
+
+    public GESegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
+    public String getTransactionSetCount() {
+        return getField(1);
+    }
+
+    public String getGroupControlNumber() {
+        return getField(2);
+    }
+}
\ No newline at end of file
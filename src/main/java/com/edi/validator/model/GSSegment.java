@@ -7,6 +7,10 @@ public class GSSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public GSSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getFunctionalIdentifierCode() {
         return getField(1);
     }
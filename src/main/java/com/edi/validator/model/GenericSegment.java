@@ -4,4 +4,8 @@ public class GenericSegment extends EDISegment {
     public GenericSegment(String segmentCode, String line, int lineNumber) {
         super(segmentCode, line, lineNumber);
     }
+
+    public GenericSegment(String segmentCode, RawSegment raw, int lineNumber) {
+        super(segmentCode, raw, lineNumber);
+    }
 } 
\ No newline at end of file
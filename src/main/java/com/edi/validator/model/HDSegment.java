@@ -7,6 +7,10 @@ public class HDSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public HDSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getMaintenanceTypeCode() {
         return getField(1);
     }
@@ -0,0 +1,21 @@
+package com.edi.validator.model;
+
+public class IEASegment extends EDISegment {
+    public static final String SEGMENT_CODE = "IEA";
+
+    public IEASegment(String line, int lineNumber) {
+        super(SEGMENT_CODE, line, lineNumber);
+    }
+
+    public IEASegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
+    public String getGroupCount() {
+        return getField(1);
+    }
+
+    public String getControlNumber() {
+        return getField(2);
+    }
+}
\ No newline at end of file
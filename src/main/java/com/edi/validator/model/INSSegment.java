@@ -7,6 +7,10 @@ public class INSSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public INSSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getMemberIndicator() {
         return getField(1);
     }
@@ -7,23 +7,27 @@ public class ISASegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public ISASegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getSenderId() {
-        return getField(5);
+        return getField(6);
     }
 
     public String getReceiverId() {
-        return getField(6);
+        return getField(8);
     }
 
     public String getDate() {
-        return getField(8);
+        return getField(9);
     }
 
     public String getTime() {
-        return getField(9);
+        return getField(10);
     }
 
     public String getControlNumber() {
-        return getField(12);
+        return getField(13);
     }
 } 
\ No newline at end of file
@@ -7,6 +7,10 @@ public class LESegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public LESegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getLoopIdentifierCode() {
         return getField(1);
     }
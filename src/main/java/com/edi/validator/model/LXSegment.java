@@ -7,6 +7,10 @@ public class LXSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public LXSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getAssignedNumber() {
         return getField(1);
     }
@@ -0,0 +1,134 @@
+package com.edi.validator.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The messages validation errors can carry, each registered once under an int code. A message
+ * names the segment and field it is about and has a template in which every {@code {}} is
+ * replaced by an argument of the error, so an error only stores its code and arguments and the
+ * text is built when it is read.
+ *
+ * <p>Validators register their messages as static constants:</p>
+ * <pre>
+ * private static final int INSUFFICIENT_FIELDS = MessageCatalog.register(DMGSegment.SEGMENT_CODE,
+ *     "Fields", "DMG segment has insufficient fields (expected 3, found {})");
+ * </pre>
+ *
+ * <p>A message registered without a segment code takes it from its first argument, for errors
+ * about segments whose tag is only known from the input. Registering the same message twice
+ * returns the same code. Codes are only meaningful within one JVM; persisted errors store the
+ * message itself.</p>
+ */
+public final class MessageCatalog {
+    private static final String PLACEHOLDER = "{}";
+
+    private static final Map<String, Integer> CODES = new HashMap<>();
+    private static volatile Entry[] entries = new Entry[256];
+    private static int size;
+
+    private MessageCatalog() {
+    }
+
+    /**
+     * Returns the code of a message, registering it on first use.
+     * @param segmentCode Segment the message is about, or null if it is the first argument
+     * @param field Field name shown with the message
+     * @param template Message text, with {@code {}} where each argument goes
+     */
+    public static synchronized int register(String segmentCode, String field, String template) {
+        String key = (segmentCode != null ? segmentCode : "\1") + '\0' + field + '\0' + template;
+        Integer code = CODES.get(key);
+        if (code != null) {
+            return code;
+        }
+        Entry[] current = entries;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = new Entry(segmentCode, field, template);
+        entries = current;
+        CODES.put(key, size);
+        return size++;
+    }
+
+    /**
+     * Returns the segment code of a message, or null if it is taken from the first argument.
+     */
+    public static String getSegmentCode(int code) {
+        return entry(code).segmentCode;
+    }
+
+    public static String getField(int code) {
+        return entry(code).field;
+    }
+
+    public static String getTemplate(int code) {
+        return entry(code).template;
+    }
+
+    /**
+     * Returns the number of placeholders in a message's template.
+     */
+    public static int getArgumentCount(int code) {
+        return entry(code).parts.length - 1;
+    }
+
+    /**
+     * Builds a message's text.
+     * @param arguments One value per placeholder; missing ones are left empty
+     */
+    public static String render(int code, Object... arguments) {
+        String[] parts = entry(code).parts;
+        if (parts.length == 1) {
+            return parts[0];
+        }
+        StringBuilder text = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            if (i <= arguments.length) {
+                text.append(arguments[i - 1]);
+            }
+            text.append(parts[i]);
+        }
+        return text.toString();
+    }
+
+    private static Entry entry(int code) {
+        Entry[] current = entries;
+        if (code < 0 || code >= current.length || current[code] == null) {
+            throw new IllegalArgumentException("Unknown message code: " + code);
+        }
+        return current[code];
+    }
+
+    private static final class Entry {
+        final String segmentCode;
+        final String field;
+        final String template;
+        final String[] parts;
+
+        Entry(String segmentCode, String field, String template) {
+            this.segmentCode = segmentCode;
+            this.field = field;
+            this.template = template;
+            this.parts = split(template);
+        }
+
+        private static String[] split(String template) {
+            int count = 1;
+            for (int at = template.indexOf(PLACEHOLDER); at >= 0; at = template.indexOf(PLACEHOLDER, at + 2)) {
+                count++;
+            }
+            String[] parts = new String[count];
+            int from = 0;
+            for (int i = 0; i < count - 1; i++) {
+                int at = template.indexOf(PLACEHOLDER, from);
+                parts[i] = template.substring(from, at);
+                from = at + PLACEHOLDER.length();
+            }
+            parts[count - 1] = template.substring(from);
+            return parts;
+        }
+    }
+}
\ No newline at end of file
@@ -7,6 +7,10 @@ public class N1Segment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public N1Segment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getEntityIdentifierCode() {
         return getField(1);
     }
@@ -7,6 +7,10 @@ public class NM1Segment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public NM1Segment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getEntityIdentifierCode() {
         return getField(1);
     }
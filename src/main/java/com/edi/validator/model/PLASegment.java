@@ -7,6 +7,10 @@ public class PLASegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public PLASegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getActionCode() {
         return getField(1);
     }
@@ -7,6 +7,10 @@ public class REFSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public REFSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getReferenceIdentificationQualifier() {
         return getField(1);
     }
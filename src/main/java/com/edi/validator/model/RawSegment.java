@@ -0,0 +1,120 @@
+package com.edi.validator.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Location of one tokenized segment inside a shared byte buffer.
+ *
+ * <p>Element {@code i} starts at {@code start + offsets[offsetBase + i]} and ends one byte before
+ * {@code start + offsets[offsetBase + i + 1]}; the entry after the last element points one byte
+ * past the end of the segment. The tokenizer reuses a single instance for every segment it
+ * returns, so an instance is only valid until the next segment is read. {@link EDISegment} copies
+ * the location out of it, and the buffer regions it refers to are never overwritten afterwards.</p>
+ */
+public final class RawSegment {
+    private byte[] data;
+    private int start;
+    private int length;
+    private int[] offsets;
+    private int offsetBase;
+    private int fieldCount;
+
+    public RawSegment() {
+    }
+
+    /**
+     * Indexes a segment held in a String, splitting elements on {@code elementSeparator}.
+     */
+    public static RawSegment parse(String line, byte elementSeparator) {
+        byte[] data = line.getBytes(StandardCharsets.ISO_8859_1);
+        int separators = 0;
+        for (byte b : data) {
+            if (b == elementSeparator) {
+                separators++;
+            }
+        }
+        int[] offsets = new int[separators + 2];
+        int field = 1;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == elementSeparator) {
+                offsets[field++] = i + 1;
+            }
+        }
+        offsets[field] = data.length + 1;
+
+        RawSegment segment = new RawSegment();
+        segment.set(data, 0, data.length, offsets, 0, separators + 1);
+        return segment;
+    }
+
+    public void set(byte[] data, int start, int length, int[] offsets, int offsetBase, int fieldCount) {
+        this.data = data;
+        this.start = start;
+        this.length = length;
+        this.offsets = offsets;
+        this.offsetBase = offsetBase;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Returns a copy of this location that stays valid after the tokenizer moves on.
+     */
+    public RawSegment copy() {
+        RawSegment copy = new RawSegment();
+        copy.set(data, start, length, offsets, offsetBase, fieldCount);
+        return copy;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int getOffsetBase() {
+        return offsetBase;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns element 0, the segment identifier.
+     */
+    public String getTag() {
+        int end = start + offsets[offsetBase + 1] - 1;
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the bytes of element 0 packed big-endian into an int, or -1 if the segment
+     * identifier is empty or longer than three bytes. Used for lookups that need no String.
+     */
+    public int getTagKey() {
+        int length = offsets[offsetBase + 1] - 1;
+        if (length < 1 || length > 3) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < length; i++) {
+            key = (key << 8) | (data[start + i] & 0xFF);
+        }
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return new String(data, start, length, StandardCharsets.ISO_8859_1);
+    }
+}
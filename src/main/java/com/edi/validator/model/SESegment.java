@@ -0,0 +1,21 @@
+package com.edi.validator.model;
+
+public class SESegment extends EDISegment {
+    public static final String SEGMENT_CODE = "SE";
+
+    public SESegment(String line, int lineNumber) {
+        super(SEGMENT_CODE, line, lineNumber);
+    }
+
+    public SESegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
+    public String getSegmentCount() {
+        return getField(1);
+    }
+
+    public String getControlNumber() {
+        return getField(2);
+    }
+}
\ No newline at end of file
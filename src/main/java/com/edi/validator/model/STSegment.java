@@ -7,6 +7,10 @@ public class STSegment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public STSegment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getTransactionSetId() {
         return getField(1);
     }
@@ -7,6 +7,10 @@ public class SV1Segment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public SV1Segment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getCompositeMedicalProcedureIdentifier() {
         return getField(1);
     }
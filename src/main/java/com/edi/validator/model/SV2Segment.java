@@ -7,6 +7,10 @@ public class SV2Segment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public SV2Segment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getServiceLineRevenueCode() {
         return getField(1);
     }
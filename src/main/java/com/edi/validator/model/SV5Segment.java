@@ -7,6 +7,10 @@ public class SV5Segment extends EDISegment {
         super(SEGMENT_CODE, line, lineNumber);
     }
 
+    public SV5Segment(RawSegment raw, int lineNumber) {
+        super(SEGMENT_CODE, raw, lineNumber);
+    }
+
     public String getCompositeMedicalProcedureIdentifier() {
         return getField(1);
     }
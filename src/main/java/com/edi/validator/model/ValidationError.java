@@ -1,37 +1,105 @@
 package com.edi.validator.model;
 
-public class ValidationError {
-    private final String segmentCode;
-    private final String field;
-    private final String message;
+/**
+ * One validation error: a {@link MessageCatalog} code, the position of the segment, the element
+ * the error is about and the values that go into the message. The segment code, field name and
+ * message text come from the catalog and are only built when asked for, so finding an error
+ * costs no string concatenation.
+ */
+public final class ValidationError {
+    /** Element index of errors that are not about a single element. */
+    public static final int NO_ELEMENT = -1;
+
+    private final int code;
     private final int lineNumber;
+    private final int elementIndex;
+    // Null, the single argument, or an Object[] when the message takes several
+    private final Object argument;
 
-    public ValidationError(String segmentCode, String field, String message, int lineNumber) {
-        this.segmentCode = segmentCode;
-        this.field = field;
-        this.message = message;
+    /**
+     * Creates an error with a message that takes no arguments.
+     */
+    public ValidationError(int code, int lineNumber) {
+        this(code, NO_ELEMENT, null, lineNumber);
+    }
+
+    /**
+     * Creates an error with a message that takes one argument.
+     */
+    public ValidationError(int code, Object argument, int lineNumber) {
+        this(code, NO_ELEMENT, argument, lineNumber);
+    }
+
+    /**
+     * Creates an error about one element.
+     * @param argument The argument, or an {@code Object[]} for a message that takes several
+     */
+    public ValidationError(int code, int elementIndex, Object argument, int lineNumber) {
+        this.code = code;
         this.lineNumber = lineNumber;
+        this.elementIndex = elementIndex;
+        this.argument = argument;
+    }
+
+    /**
+     * Creates an error with a ready-made message, for validators that do not register theirs.
+     */
+    public ValidationError(String segmentCode, String field, String message, int lineNumber) {
+        this(MessageCatalog.register(segmentCode, field, "{}"), NO_ELEMENT, message, lineNumber);
+    }
+
+    public int getCode() {
+        return code;
     }
 
     public String getSegmentCode() {
-        return segmentCode;
+        String segmentCode = MessageCatalog.getSegmentCode(code);
+        if (segmentCode != null) {
+            return segmentCode;
+        }
+        return String.valueOf(argument instanceof Object[] ? ((Object[]) argument)[0] : argument);
     }
 
     public String getField() {
-        return field;
+        return MessageCatalog.getField(code);
     }
 
     public String getMessage() {
-        return message;
+        return MessageCatalog.render(code, getArguments());
     }
 
     public int getLineNumber() {
         return lineNumber;
     }
 
+    /**
+     * Returns the index of the element the error is about, or {@link #NO_ELEMENT}.
+     */
+    public int getElementIndex() {
+        return elementIndex;
+    }
+
+    public Object[] getArguments() {
+        if (argument instanceof Object[]) {
+            return (Object[]) argument;
+        }
+        return argument == null ? new Object[0] : new Object[] {argument};
+    }
+
+    /**
+     * Returns the same error reported at another position.
+     */
+    public ValidationError withLineNumber(int lineNumber) {
+        return new ValidationError(code, elementIndex, argument, lineNumber);
+    }
+
+    Object getArgument() {
+        return argument;
+    }
+
     @Override
     public String toString() {
-        return String.format("Line %d: %s segment - %s - %s", 
-            lineNumber, segmentCode, field, message);
+        return String.format("Line %d: %s segment - %s - %s",
+            lineNumber, getSegmentCode(), getField(), getMessage());
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.edi.validator.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A growable list of validation errors stored column by column: message code, position and
+ * element index in int arrays and the message arguments in an object array. A single argument of
+ * up to eight Latin-1 characters, such as a bad code or date, is packed into a long instead of
+ * being kept as a String. An error with such an argument costs 24 bytes, against about 130 for a
+ * {@link ValidationError} with a ready-made message in an ArrayList. {@link #get(int)} builds a new
+ * error object on each call. Not thread-safe.
+ */
+public final class ValidationErrorList extends AbstractList<ValidationError> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    // Stands in the argument column for a value held in the packed column
+    private static final Object PACKED = new Object();
+
+    private int[] codes = new int[INITIAL_CAPACITY];
+    private int[] lineNumbers = new int[INITIAL_CAPACITY];
+    private int[] elementIndexes = new int[INITIAL_CAPACITY];
+    private Object[] arguments = new Object[INITIAL_CAPACITY];
+    private long[] packed = new long[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public boolean add(ValidationError error) {
+        if (size == codes.length) {
+            int capacity = size * 2;
+            codes = Arrays.copyOf(codes, capacity);
+            lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+            elementIndexes = Arrays.copyOf(elementIndexes, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+            packed = Arrays.copyOf(packed, capacity);
+        }
+        codes[size] = error.getCode();
+        lineNumbers[size] = error.getLineNumber();
+        elementIndexes[size] = error.getElementIndex();
+        Object argument = error.getArgument();
+        long value = argument instanceof String ? pack((String) argument) : -1;
+        if (value != -1) {
+            packed[size] = value;
+            argument = PACKED;
+        }
+        arguments[size] = argument;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public ValidationError get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        Object argument = arguments[index] == PACKED ? unpack(packed[index]) : arguments[index];
+        return new ValidationError(codes[index], elementIndexes[index], argument, lineNumbers[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(arguments, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Packs up to eight Latin-1 characters other than NUL, the first in the low byte, or returns
+     * -1 if the value does not fit.
+     */
+    private static long pack(String value) {
+        int length = value.length();
+        if (length > Long.BYTES) {
+            return -1;
+        }
+        long bits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == 0 || c > 0xFF) {
+                return -1;
+            }
+            bits |= (long) c << (i * 8);
+        }
+        // Eight bytes of 0xFF would read as -1; such a value is simply not packed
+        return bits;
+    }
+
+    private static String unpack(long bits) {
+        byte[] value = new byte[Long.BYTES];
+        int length = 0;
+        while (length < Long.BYTES && (bits & 0xFF) != 0) {
+            value[length++] = (byte) bits;
+            bits >>>= 8;
+        }
+        return new String(value, 0, length, StandardCharsets.ISO_8859_1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.edi.validator.model;
+
+/**
+ * One item of a streamed validation: a segment as it was read, or an error found in it. A
+ * segment's event comes before the events of its errors; errors found at the end of the input,
+ * such as missing required segments, follow the last segment.
+ */
+public final class ValidationEvent {
+    public enum Type {
+        SEGMENT,
+        ERROR
+    }
+
+    private final Type type;
+    private final RawSegment segment;
+    private final ValidationError error;
+    private final int lineNumber;
+
+    private ValidationEvent(Type type, RawSegment segment, ValidationError error, int lineNumber) {
+        this.type = type;
+        this.segment = segment;
+        this.error = error;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Creates a segment event. The segment must not be reused by its producer afterwards.
+     */
+    public static ValidationEvent segment(RawSegment segment, int lineNumber) {
+        return new ValidationEvent(Type.SEGMENT, segment, null, lineNumber);
+    }
+
+    public static ValidationEvent error(ValidationError error) {
+        return new ValidationEvent(Type.ERROR, null, error, error.getLineNumber());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the segment of a {@link Type#SEGMENT} event, or null.
+     */
+    public RawSegment getSegment() {
+        return segment;
+    }
+
+    /**
+     * Returns the error of an {@link Type#ERROR} event, or null.
+     */
+    public ValidationError getError() {
+        return error;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.SEGMENT ? "Line " + lineNumber + ": " + segment : error.toString();
+    }
+}
\ No newline at end of file
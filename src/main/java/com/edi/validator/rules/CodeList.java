@@ -0,0 +1,309 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.model.EDISegment;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A set of valid codes for one element, compiled once into a constant-time lookup.
+ *
+ * <p>{@link #of(String...)} and {@link Builder#build()} pick the representation from the codes:</p>
+ * <ul>
+ *   <li>digit-only codes of one width up to 4: a bitset indexed by the numeric value</li>
+ *   <li>single-character codes: a 128-bit character class</li>
+ *   <li>two-character ASCII codes: a bitset indexed by both characters</li>
+ *   <li>anything else up to 8 characters: a sorted array of codes packed into longs</li>
+ * </ul>
+ * <p>Lookups read the element bytes in place and do not allocate.</p>
+ */
+public abstract class CodeList implements ElementCheck {
+    private static final int MAX_NUMERIC_WIDTH = 4;
+    private static final int MAX_PACKED_LENGTH = 8;
+
+    private final int size;
+
+    CodeList(int size) {
+        this.size = size;
+    }
+
+    public static CodeList of(String... codes) {
+        return builder().add(codes).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns true if the element at {@code index} is one of the codes. Absent elements never match.
+     */
+    public abstract boolean contains(EDISegment segment, int index);
+
+    public abstract boolean contains(String value);
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean test(EDISegment segment, int index) {
+        return contains(segment, index);
+    }
+
+    public static class Builder {
+        private final Set<String> codes = new LinkedHashSet<>();
+
+        public Builder add(String... values) {
+            for (String value : values) {
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("Empty code");
+                }
+                codes.add(value);
+            }
+            return this;
+        }
+
+        /**
+         * Adds every number from {@code from} to {@code to}, zero padded to {@code width} digits.
+         */
+        public Builder addNumericRange(int from, int to, int width) {
+            String format = "%0" + width + "d";
+            for (int value = from; value <= to; value++) {
+                codes.add(String.format(format, value));
+            }
+            return this;
+        }
+
+        /**
+         * Adds every two-character code whose first character lies between {@code firstFrom} and
+         * {@code firstTo} and whose second lies between {@code secondFrom} and {@code secondTo}.
+         */
+        public Builder addPairRange(char firstFrom, char firstTo, char secondFrom, char secondTo) {
+            for (char first = firstFrom; first <= firstTo; first++) {
+                for (char second = secondFrom; second <= secondTo; second++) {
+                    codes.add(new String(new char[] {first, second}));
+                }
+            }
+            return this;
+        }
+
+        public CodeList build() {
+            if (codes.isEmpty()) {
+                throw new IllegalStateException("A code list needs at least one code");
+            }
+            int length = commonLength();
+            if (length > 0 && length <= MAX_NUMERIC_WIDTH && allMatch(CodeList::isDigits)) {
+                return new NumericCodeList(codes, length);
+            }
+            if ((length == 1 || length == 2) && allMatch(CodeList::isAscii)) {
+                return new AsciiCodeList(codes, length);
+            }
+            if (allMatch(code -> code.length() <= MAX_PACKED_LENGTH && isAscii(code))) {
+                return new PackedCodeList(codes);
+            }
+            return new StringCodeList(codes);
+        }
+
+        private int commonLength() {
+            int length = -1;
+            for (String code : codes) {
+                if (length == -1) {
+                    length = code.length();
+                } else if (length != code.length()) {
+                    return 0;
+                }
+            }
+            return length;
+        }
+
+        private boolean allMatch(Predicate<String> predicate) {
+            return codes.stream().allMatch(predicate);
+        }
+    }
+
+    private static boolean isDigits(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fixed-width digit codes, looked up by value in a bitset.
+     */
+    private static final class NumericCodeList extends CodeList {
+        private final int width;
+        private final long[] bits;
+
+        NumericCodeList(Set<String> codes, int width) {
+            super(codes.size());
+            this.width = width;
+            int capacity = 1;
+            for (int i = 0; i < width; i++) {
+                capacity *= 10;
+            }
+            this.bits = new long[(capacity + 63) >>> 6];
+            for (String code : codes) {
+                int value = Integer.parseInt(code);
+                bits[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        public boolean contains(EDISegment segment, int index) {
+            if (segment.getFieldLength(index) != width) {
+                return false;
+            }
+            int value = 0;
+            for (int i = 0; i < width; i++) {
+                int digit = segment.getFieldByte(index, i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return false;
+                }
+                value = value * 10 + digit;
+            }
+            return (bits[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public boolean contains(String value) {
+            if (value.length() != width || !isDigits(value)) {
+                return false;
+            }
+            int number = Integer.parseInt(value);
+            return (bits[number >>> 6] & (1L << number)) != 0;
+        }
+    }
+
+    /**
+     * One- or two-character ASCII codes, looked up in a bitset indexed by the characters:
+     * a character class for single characters, a 16K-bit table for pairs.
+     */
+    private static final class AsciiCodeList extends CodeList {
+        private final int length;
+        private final long[] bits;
+
+        AsciiCodeList(Set<String> codes, int length) {
+            super(codes.size());
+            this.length = length;
+            this.bits = new long[length == 1 ? 2 : 256];
+            for (String code : codes) {
+                int key = length == 1 ? code.charAt(0) : (code.charAt(0) << 7) | code.charAt(1);
+                bits[key >>> 6] |= 1L << key;
+            }
+        }
+
+        @Override
+        public boolean contains(EDISegment segment, int index) {
+            if (segment.getFieldLength(index) != length) {
+                return false;
+            }
+            int first = segment.getFieldByte(index, 0);
+            if (first < 0) {
+                return false;
+            }
+            int key = first;
+            if (length == 2) {
+                int second = segment.getFieldByte(index, 1);
+                if (second < 0) {
+                    return false;
+                }
+                key = (first << 7) | second;
+            }
+            return (bits[key >>> 6] & (1L << key)) != 0;
+        }
+
+        @Override
+        public boolean contains(String value) {
+            if (value.length() != length || !isAscii(value)) {
+                return false;
+            }
+            int key = length == 1 ? value.charAt(0) : (value.charAt(0) << 7) | value.charAt(1);
+            return (bits[key >>> 6] & (1L << key)) != 0;
+        }
+    }
+
+    /**
+     * ASCII codes of up to 8 characters packed big-endian into longs and binary searched.
+     */
+    private static final class PackedCodeList extends CodeList {
+        private final long[] packed;
+
+        PackedCodeList(Set<String> codes) {
+            super(codes.size());
+            this.packed = new long[codes.size()];
+            int i = 0;
+            for (String code : codes) {
+                packed[i++] = pack(code);
+            }
+            Arrays.sort(packed);
+        }
+
+        @Override
+        public boolean contains(EDISegment segment, int index) {
+            int length = segment.getFieldLength(index);
+            if (length == 0 || length > MAX_PACKED_LENGTH) {
+                return false;
+            }
+            long key = 0;
+            for (int i = 0; i < length; i++) {
+                key = (key << 8) | (segment.getFieldByte(index, i) & 0xFF);
+            }
+            return Arrays.binarySearch(packed, key) >= 0;
+        }
+
+        @Override
+        public boolean contains(String value) {
+            if (value.isEmpty() || value.length() > MAX_PACKED_LENGTH || !isAscii(value)) {
+                return false;
+            }
+            return Arrays.binarySearch(packed, pack(value)) >= 0;
+        }
+
+        private static long pack(String code) {
+            long key = 0;
+            for (int i = 0; i < code.length(); i++) {
+                key = (key << 8) | code.charAt(i);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Fallback for codes longer than 8 characters or outside ASCII.
+     */
+    private static final class StringCodeList extends CodeList {
+        private final Set<String> codes;
+
+        StringCodeList(Set<String> codes) {
+            super(codes.size());
+            this.codes = new HashSet<>(codes);
+        }
+
+        @Override
+        public boolean contains(EDISegment segment, int index) {
+            return codes.contains(segment.getField(index));
+        }
+
+        @Override
+        public boolean contains(String value) {
+            return codes.contains(value);
+        }
+    }
+}
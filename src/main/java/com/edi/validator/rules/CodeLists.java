@@ -0,0 +1,40 @@
+package com.edi.validator.rules;
+
+/**
+ * Code lists shared by more than one segment validator. Lists used by a single validator are
+ * declared next to its rules.
+ */
+public final class CodeLists {
+    public static final CodeList YES_NO = CodeList.of("Y", "N");
+
+    /** Maintenance type codes 001 through 999 (INS03, HD01). */
+    public static final CodeList MAINTENANCE_TYPE_CODES = CodeList.builder()
+        .addNumericRange(1, 999, 3)
+        .build();
+
+    /** Coverage and insurance line codes (HD03, HD02). */
+    public static final CodeList INSURANCE_LINE_CODES = CodeList.of("DEN", "HLT", "VIS", "DNT");
+
+    /** Loop identifiers accepted in LS01 and LE01. */
+    public static final CodeList LOOP_IDENTIFIER_CODES = CodeList.of("2700", "2750", "2760", "2770", "2780", "2790");
+
+    /** One character, A through Z or 1 through 9. */
+    public static final CodeList ALPHANUMERIC_STATUS_CODES = CodeList.builder()
+        .add("A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M")
+        .add("N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z")
+        .add("1", "2", "3", "4", "5", "6", "7", "8", "9")
+        .build();
+
+    public static final CodeList UNIT_BASIS_CODES = CodeList.of("DA", "F2", "MJ", "UN");
+
+    public static final CodeList FACILITY_CODES = CodeList.builder()
+        .addNumericRange(11, 99, 2)
+        .build();
+
+    public static final CodeList SERVICE_TYPE_CODES = ALPHANUMERIC_STATUS_CODES;
+
+    public static final CodeList DIAGNOSIS_CODE_POINTERS = CodeList.of("1", "2", "3", "4", "5", "6", "7", "8", "9");
+
+    private CodeLists() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.model.EDISegment;
+
+/**
+ * A compiled test applied to one element of a segment.
+ */
+@FunctionalInterface
+public interface ElementCheck {
+    /**
+     * Returns true if the element at {@code index} is acceptable.
+     * @param segment The segment holding the element
+     * @param index The element position, 1 for the first element after the segment code
+     * @return true if the element passes the check
+     */
+    boolean test(EDISegment segment, int index);
+
+    /**
+     * Accepts elements that start with {@code prefix}.
+     */
+    static ElementCheck prefix(String prefix) {
+        return (segment, index) -> {
+            if (segment.getFieldLength(index) < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if ((segment.getFieldByte(index, i) & 0xFF) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+
+/**
+ * A declarative check on one segment element. Rules are built once, usually as static constants
+ * of a segment validator. The error message is registered in the {@link MessageCatalog} with the
+ * rule, and an error only keeps the failing value until its text is asked for.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * ElementRule.of(INSSegment.SEGMENT_CODE, 1, "Member Indicator", CodeList.of("Y", "N"),
+ *     "Invalid member indicator in INS segment: ")
+ * </pre>
+ */
+public final class ElementRule {
+    private final String segmentCode;
+    private final int index;
+    private final String fieldName;
+    private final ElementCheck check;
+    private final int messageCode;
+    private final boolean optional;
+    private final int conditionIndex;
+    private final String conditionValue;
+
+    private ElementRule(String segmentCode, int index, String fieldName, ElementCheck check,
+                        int messageCode, boolean optional, int conditionIndex, String conditionValue) {
+        this.segmentCode = segmentCode;
+        this.index = index;
+        this.fieldName = fieldName;
+        this.check = check;
+        this.messageCode = messageCode;
+        this.optional = optional;
+        this.conditionIndex = conditionIndex;
+        this.conditionValue = conditionValue;
+    }
+
+    /**
+     * Creates a rule whose error message is {@code messagePrefix} followed by the element value.
+     */
+    public static ElementRule of(String segmentCode, int index, String fieldName, ElementCheck check,
+                                 String messagePrefix) {
+        return of(segmentCode, index, fieldName, check, messagePrefix, "");
+    }
+
+    /**
+     * Creates a rule whose error message is {@code messagePrefix}, the element value, then {@code messageSuffix}.
+     */
+    public static ElementRule of(String segmentCode, int index, String fieldName, ElementCheck check,
+                                 String messagePrefix, String messageSuffix) {
+        int messageCode = MessageCatalog.register(segmentCode, fieldName, messagePrefix + "{}" + messageSuffix);
+        return new ElementRule(segmentCode, index, fieldName, check, messageCode, false, -1, null);
+    }
+
+    /**
+     * Returns a copy of this rule that skips empty or absent elements.
+     */
+    public ElementRule optional() {
+        return new ElementRule(segmentCode, index, fieldName, check, messageCode, true, conditionIndex, conditionValue);
+    }
+
+    /**
+     * Returns a copy of this rule that only applies when the element at {@code otherIndex} equals {@code value}.
+     */
+    public ElementRule when(int otherIndex, String value) {
+        return new ElementRule(segmentCode, index, fieldName, check, messageCode, optional, otherIndex, value);
+    }
+
+    /**
+     * Applies the rule and passes an error to {@code sink} if the element fails the check.
+     */
+    public void apply(EDISegment segment, ValidationErrorSink sink) {
+        if (conditionValue != null && !segment.fieldEquals(conditionIndex, conditionValue)) {
+            return;
+        }
+        if (optional && segment.isFieldEmpty(index)) {
+            return;
+        }
+        if (!check.test(segment, index)) {
+            sink.accept(new ValidationError(messageCode, index, segment.getField(index), segment.getLineNumber()));
+        }
+    }
+
+    /**
+     * Applies every rule in order, stopping early once the sink accepts no more errors.
+     */
+    public static void applyAll(ElementRule[] rules, EDISegment segment, ValidationErrorSink sink) {
+        for (ElementRule rule : rules) {
+            if (!sink.acceptsMore()) {
+                return;
+            }
+            rule.apply(segment, sink);
+        }
+    }
+
+    public String getSegmentCode() {
+        return segmentCode;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+}
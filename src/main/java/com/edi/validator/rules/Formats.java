@@ -0,0 +1,89 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.interfaces.ByteRangePredicate;
+import com.edi.validator.model.EDISegment;
+
+/**
+ * Element format checks shared by the segment validators. The checks read the element bytes in
+ * place through {@link Scanners}, so a valid element is checked without building a String, and
+ * dates and times are checked against the calendar and clock, not just for digits.
+ */
+public final class Formats {
+    /** A CCYYMMDD date that exists in the calendar. */
+    public static final ElementCheck DATE_CCYYMMDD = (segment, index) -> segment.testField(index, Scanners::isDate);
+    /** A YYMMDD date that exists in the calendar. */
+    public static final ElementCheck DATE_YYMMDD = (segment, index) -> segment.testField(index, Scanners::isShortDate);
+    /** An RD8 range, CCYYMMDD-CCYYMMDD, that does not end before it starts. */
+    public static final ElementCheck DATE_RANGE_RD8 = (segment, index) -> segment.testField(index, Scanners::isDateRange);
+    /** An HHMM time from 0000 to 2359. */
+    public static final ElementCheck TIME_HHMM = (segment, index) -> segment.testField(index, Scanners::isTime);
+    /** Digits with an optional two-digit fraction. */
+    public static final ElementCheck MONETARY_AMOUNT = decimal(2, 2);
+    /** Digits with an optional one- or two-digit fraction. */
+    public static final ElementCheck QUANTITY = decimal(1, 2);
+    public static final ElementCheck NINE_DIGITS = digits(9, 9);
+    /** 1 to 20 upper case letters or digits. */
+    public static final ElementCheck ALPHANUMERIC_ID = Formats::isAlphanumericId;
+    /** HC, IV or ZZ followed by five digits. */
+    public static final ElementCheck PROCEDURE_IDENTIFIER = (segment, index) -> segment.testField(index, Formats::isProcedureIdentifier);
+
+    private static final int MAX_ID_LENGTH = 20;
+
+    private Formats() {
+    }
+
+    /**
+     * Accepts elements of {@code min} to {@code max} ASCII digits.
+     */
+    public static ElementCheck digits(int min, int max) {
+        return (segment, index) -> {
+            int length = segment.getFieldLength(index);
+            return length >= min && length <= max && segment.testField(index, Scanners::isDigits);
+        };
+    }
+
+    /**
+     * Accepts one or more digits, optionally followed by a point and {@code minFraction} to
+     * {@code maxFraction} digits.
+     */
+    public static ElementCheck decimal(int minFraction, int maxFraction) {
+        ByteRangePredicate scanner = (data, from, to) -> Scanners.isDecimal(data, from, to, minFraction, maxFraction);
+        return (segment, index) -> segment.testField(index, scanner);
+    }
+
+    /**
+     * Accepts the qualifier-dependent date of a D8 or RD8 element pair: a CCYYMMDD-CCYYMMDD range
+     * when the element at {@code qualifierIndex} is RD8, and a CCYYMMDD date otherwise, so a
+     * missing or unknown qualifier still gets the D8 check.
+     */
+    public static ElementCheck dateByQualifier(int qualifierIndex) {
+        return (segment, index) -> segment.fieldEquals(qualifierIndex, "RD8")
+            ? DATE_RANGE_RD8.test(segment, index)
+            : DATE_CCYYMMDD.test(segment, index);
+    }
+
+    private static boolean isAlphanumericId(EDISegment segment, int index) {
+        int length = segment.getFieldLength(index);
+        if (length < 1 || length > MAX_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = segment.getFieldByte(index, i);
+            if (!(b >= 'A' && b <= 'Z') && !(b >= '0' && b <= '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isProcedureIdentifier(byte[] data, int from, int to) {
+        if (to - from != 7) {
+            return false;
+        }
+        byte first = data[from];
+        byte second = data[from + 1];
+        boolean qualifier = (first == 'H' && second == 'C') || (first == 'I' && second == 'V')
+            || (first == 'Z' && second == 'Z');
+        return qualifier && Scanners.isDigits(data, from + 2, to);
+    }
+}
\ No newline at end of file
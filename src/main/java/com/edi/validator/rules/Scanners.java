@@ -0,0 +1,145 @@
+package com.edi.validator.rules;
+
+/**
+ * Hand-written scanners for the date, time and number formats of X12 elements. Each reads a
+ * byte range in place, allocates nothing and checks the value as well as its shape: dates must
+ * exist in the calendar, so 20230231 fails, and times must be on a 24-hour clock.
+ */
+public final class Scanners {
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int DATE_LENGTH = 8;
+
+    private Scanners() {
+    }
+
+    /**
+     * Returns true for a non-empty range of ASCII digits.
+     */
+    public static boolean isDigits(byte[] data, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (data[i] < '0' || data[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value of one to nine ASCII digits, or -1 for anything else.
+     */
+    public static int parseDigits(byte[] data, int from, int to) {
+        if (from >= to || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns true for a CCYYMMDD date that exists in the Gregorian calendar.
+     */
+    public static boolean isDate(byte[] data, int from, int to) {
+        if (to - from != DATE_LENGTH) {
+            return false;
+        }
+        int year = parseDigits(data, from, from + 4);
+        return year >= 0 && isMonthDay(data, from + 4, year);
+    }
+
+    /**
+     * Returns true for a YYMMDD date that exists in the Gregorian calendar, reading the year as
+     * 20YY as the ISA interchange date does.
+     */
+    public static boolean isShortDate(byte[] data, int from, int to) {
+        if (to - from != 6) {
+            return false;
+        }
+        int year = parseDigits(data, from, from + 2);
+        return year >= 0 && isMonthDay(data, from + 2, 2000 + year);
+    }
+
+    /**
+     * Returns true for an HHMM time from 0000 to 2359.
+     */
+    public static boolean isTime(byte[] data, int from, int to) {
+        if (to - from != 4) {
+            return false;
+        }
+        int hours = parseDigits(data, from, from + 2);
+        int minutes = parseDigits(data, from + 2, to);
+        return hours >= 0 && hours <= 23 && minutes >= 0 && minutes <= 59;
+    }
+
+    /**
+     * Returns true for an RD8 range, CCYYMMDD-CCYYMMDD, of two valid dates with the first no
+     * later than the second.
+     */
+    public static boolean isDateRange(byte[] data, int from, int to) {
+        if (to - from != DATE_LENGTH * 2 + 1 || data[from + DATE_LENGTH] != '-') {
+            return false;
+        }
+        int end = from + DATE_LENGTH + 1;
+        if (!isDate(data, from, from + DATE_LENGTH) || !isDate(data, end, to)) {
+            return false;
+        }
+        // Equal-length digit strings order the same as the dates they spell
+        for (int i = 0; i < DATE_LENGTH; i++) {
+            if (data[from + i] != data[end + i]) {
+                return data[from + i] < data[end + i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true for one or more digits, optionally followed by a point and
+     * {@code minFraction} to {@code maxFraction} digits.
+     */
+    public static boolean isDecimal(byte[] data, int from, int to, int minFraction, int maxFraction) {
+        int point = from;
+        while (point < to && data[point] != '.') {
+            point++;
+        }
+        if (!isDigits(data, from, point)) {
+            return false;
+        }
+        if (point == to) {
+            return true;
+        }
+        int fraction = to - point - 1;
+        return fraction >= minFraction && fraction <= maxFraction && isDigits(data, point + 1, to);
+    }
+
+    /**
+     * Returns true if {@code year}, {@code month} and {@code day} name a Gregorian calendar date.
+     */
+    public static boolean isValidDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        if (month == 2 && isLeapYear(year)) {
+            return day <= 29;
+        }
+        return day <= DAYS_IN_MONTH[month - 1];
+    }
+
+    private static boolean isMonthDay(byte[] data, int from, int year) {
+        int month = parseDigits(data, from, from + 2);
+        int day = parseDigits(data, from + 2, from + 4);
+        return month >= 0 && day >= 0 && isValidDate(year, month, day);
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.edi.validator.structure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One loop of an implementation guide: an ordered list of segments and child loops, each with a
+ * minimum and maximum repeat count. A loop starts with its first segment, the trigger. Loops are
+ * compiled into a {@link LoopStructure} before use.
+ *
+ * <p>Example:</p>
+ * <pre>
+ * LoopDefinition.builder("2310")
+ *     .segment("LX", 1, 1)
+ *     .segment("NM1", 1, 1)
+ *     .segment("N3", 0, 2)
+ *     .build()
+ * </pre>
+ */
+public final class LoopDefinition {
+    /** Maximum repeat count for segments and loops the guide marks as {@code >1}. */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final String id;
+    private final List<Position> positions;
+
+    private LoopDefinition(String id, List<Position> positions) {
+        this.id = id;
+        this.positions = Collections.unmodifiableList(positions);
+    }
+
+    public static Builder builder(String id) {
+        return new Builder(id);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the tag of the segment that starts the loop.
+     */
+    public String getTrigger() {
+        return positions.get(0).getTag();
+    }
+
+    public List<Position> getPositions() {
+        return positions;
+    }
+
+    /**
+     * Returns every segment tag used by this loop and its descendants.
+     */
+    public Set<String> getTags() {
+        Set<String> tags = new LinkedHashSet<>();
+        for (Position position : positions) {
+            if (position.isLoop()) {
+                tags.addAll(position.getLoop().getTags());
+            } else {
+                tags.add(position.getTag());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the segment tags every repeat of this loop must contain: its required segments and
+     * those of its required child loops.
+     */
+    public Set<String> getRequiredTags() {
+        Set<String> tags = new LinkedHashSet<>();
+        for (Position position : positions) {
+            if (position.getMin() < 1) {
+                continue;
+            }
+            if (position.isLoop()) {
+                tags.addAll(position.getLoop().getRequiredTags());
+            } else {
+                tags.add(position.getTag());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * A segment or child loop at one place in a loop.
+     */
+    public static final class Position {
+        private final String tag;
+        private final LoopDefinition loop;
+        private final int min;
+        private final int max;
+
+        private Position(String tag, LoopDefinition loop, int min, int max) {
+            this.tag = tag;
+            this.loop = loop;
+            this.min = min;
+            this.max = max;
+        }
+
+        public boolean isLoop() {
+            return loop != null;
+        }
+
+        /**
+         * Returns the segment tag, or the trigger tag of a child loop.
+         */
+        public String getTag() {
+            return tag;
+        }
+
+        public LoopDefinition getLoop() {
+            return loop;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+    }
+
+    public static class Builder {
+        private final String id;
+        private final List<Position> positions = new ArrayList<>();
+
+        private Builder(String id) {
+            this.id = id;
+        }
+
+        public Builder segment(String tag, int min, int max) {
+            checkRepeat(min, max);
+            positions.add(new Position(tag, null, min, max));
+            return this;
+        }
+
+        public Builder loop(LoopDefinition loop, int min, int max) {
+            if (positions.isEmpty()) {
+                throw new IllegalStateException("Loop " + id + " must start with a segment");
+            }
+            checkRepeat(min, max);
+            positions.add(new Position(loop.getTrigger(), loop, min, max));
+            return this;
+        }
+
+        public LoopDefinition build() {
+            if (positions.isEmpty()) {
+                throw new IllegalStateException("Loop " + id + " has no segments");
+            }
+            return new LoopDefinition(id, new ArrayList<>(positions));
+        }
+
+        private static void checkRepeat(int min, int max) {
+            if (min < 0 || max < 1 || min > max) {
+                throw new IllegalArgumentException("Invalid repeat range " + min + ".." + max);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,377 @@
+package com.edi.validator.structure;
+
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link LoopDefinition} compiled into a finite-state machine over segment tag ids. There is
+ * one state per segment position in the hierarchy, and the next state for every state and tag is
+ * worked out at compile time, so checking a segment is one array lookup plus a repeat counter,
+ * with no backtracking.
+ *
+ * <p>From a position, a tag can repeat the position (if it may occur more than once), move to a
+ * later segment of the loop, start a child loop, start the next repeat of the loop, or do any of
+ * those in an enclosing loop. The first of these in document order wins, which is how loops
+ * sharing a trigger segment are told apart. Required segments and loops passed over on the way
+ * are reported as missing. A tag with no transition is reported as unexpected and leaves the
+ * state unchanged. Every message is registered in the {@link MessageCatalog} at compile time.</p>
+ *
+ * <p>The compiled structure is immutable and can be shared; per-file state lives in a
+ * {@link Walker}.</p>
+ */
+public final class LoopStructure {
+    private static final String FIELD_NAME = "Loop Structure";
+
+    private static final byte REPEAT = 0;
+    private static final byte ADVANCE = 1;
+    private static final byte START_LOOP = 2;
+    private static final Missing[] NONE_MISSING = new Missing[0];
+
+    private final int tagCount;
+    private final int startState;
+    private final String rootTrigger;
+    private final int unexpectedAtStart;
+    // Per transition, indexed by state * tagCount + tag id
+    private final int[] next;
+    private final byte[] action;
+    private final Missing[][] missing;
+    // Per state
+    private final int[] stateMax;
+    private final int[] stateLoop;
+    private final int[] stateRepeated;
+    private final Missing[][] missingAtEnd;
+    // Per loop
+    private final String[] loopId;
+    private final int[] loopMax;
+    private final int[] loopParent;
+    private final int[] loopRepeated;
+    private final int[] unexpectedInLoop;
+
+    private LoopStructure(Compiler compiler, int tagCount) {
+        int states = compiler.states.size();
+        this.tagCount = tagCount;
+        this.startState = states;
+        this.rootTrigger = compiler.loops.get(0).definition.getTrigger();
+        this.unexpectedAtStart = MessageCatalog.register(null, FIELD_NAME,
+            "Unexpected {} segment before " + rootTrigger);
+        this.next = new int[(states + 1) * tagCount];
+        this.action = new byte[(states + 1) * tagCount];
+        this.missing = new Missing[(states + 1) * tagCount][];
+        this.stateMax = new int[states];
+        this.stateLoop = new int[states];
+        this.stateRepeated = new int[states];
+        this.missingAtEnd = new Missing[states + 1][];
+        this.loopId = new String[compiler.loops.size()];
+        this.loopMax = new int[compiler.loops.size()];
+        this.loopParent = new int[compiler.loops.size()];
+        this.loopRepeated = new int[compiler.loops.size()];
+        this.unexpectedInLoop = new int[compiler.loops.size()];
+
+        for (Node loop : compiler.loops) {
+            loopId[loop.id] = loop.definition.getId();
+            loopMax[loop.id] = loop.max;
+            loopParent[loop.id] = loop.parent != null ? loop.parent.id : -1;
+            loopRepeated[loop.id] = MessageCatalog.register(loop.definition.getTrigger(), FIELD_NAME,
+                "Loop " + loopId[loop.id] + " repeats more than " + loop.max + " times");
+            unexpectedInLoop[loop.id] = MessageCatalog.register(null, FIELD_NAME,
+                "Unexpected {} segment in loop " + loopId[loop.id]);
+        }
+        for (int state = 0; state < states; state++) {
+            State position = compiler.states.get(state);
+            stateMax[state] = position.max;
+            stateLoop[state] = position.loop.id;
+            stateRepeated[state] = MessageCatalog.register(position.tag, FIELD_NAME, position.tag
+                + " segment repeats more than " + position.max + " times in loop " + loopId[position.loop.id]);
+            missingAtEnd[state] = compiler.missingAtEnd(position);
+        }
+        missingAtEnd[startState] = NONE_MISSING;
+        Arrays.fill(next, -1);
+    }
+
+    /**
+     * Compiles {@code root} against a tag numbering, such as the entry ids of a segment dispatch
+     * table. Every tag in the definition must have an id below {@code tagCount}.
+     * @param root Outermost loop
+     * @param tagIds Returns the id of a tag, or -1 if it has none
+     * @param tagCount Number of tag ids
+     */
+    public static LoopStructure compile(LoopDefinition root, ToIntFunction<String> tagIds, int tagCount) {
+        Compiler compiler = new Compiler(root);
+        LoopStructure structure = new LoopStructure(compiler, tagCount);
+        for (String tag : root.getTags()) {
+            int id = tagIds.applyAsInt(tag);
+            if (id < 0 || id >= tagCount) {
+                throw new IllegalArgumentException("No tag id for segment " + tag);
+            }
+            for (State state : compiler.states) {
+                structure.set(state.id, id, compiler.transition(state, tag));
+            }
+            if (tag.equals(structure.rootTrigger)) {
+                structure.set(structure.startState, id, new Transition(START_LOOP, 0, NONE_MISSING));
+            }
+        }
+        return structure;
+    }
+
+    private void set(int state, int tagId, Transition transition) {
+        if (transition == null) {
+            return;
+        }
+        int index = state * tagCount + tagId;
+        next[index] = transition.target;
+        action[index] = transition.action;
+        missing[index] = transition.missing.length > 0 ? transition.missing : null;
+    }
+
+    /**
+     * Returns a walker positioned before the first segment.
+     */
+    public Walker newWalker() {
+        return new Walker();
+    }
+
+    /**
+     * Tracks one file's position in the structure. Not thread-safe.
+     */
+    public final class Walker {
+        private int state = startState;
+        private final int[] count = new int[startState];
+        // A loop's repeat count is only current while its stamp matches its parent's iteration
+        private final int[] iteration = new int[loopId.length];
+        private final int[] loopCount = new int[loopId.length];
+        private final int[] loopStamp = new int[loopId.length];
+        private int iterations;
+
+        private Walker() {
+        }
+
+        /**
+         * Moves past one segment, reporting structural errors to {@code sink}.
+         * @param tagId Tag id from the numbering the structure was compiled with, or -1 for an
+         *              unknown tag
+         * @param tag Segment tag, used in messages
+         * @param lineNumber Position of the segment
+         */
+        public void accept(int tagId, String tag, int lineNumber, ValidationErrorSink sink) {
+            int index = tagId >= 0 && tagId < tagCount ? state * tagCount + tagId : -1;
+            int target = index >= 0 ? next[index] : -1;
+            if (target < 0) {
+                sink.accept(new ValidationError(state == startState ? unexpectedAtStart
+                    : unexpectedInLoop[stateLoop[state]], tag, lineNumber));
+                return;
+            }
+            if (missing[index] != null) {
+                report(missing[index], lineNumber, sink);
+            }
+            switch (action[index]) {
+                case REPEAT:
+                    if (++count[target] > stateMax[target]) {
+                        sink.accept(new ValidationError(stateRepeated[target], lineNumber));
+                    }
+                    break;
+                case START_LOOP:
+                    startLoop(stateLoop[target], lineNumber, sink);
+                    count[target] = 1;
+                    break;
+                default:
+                    count[target] = 1;
+                    break;
+            }
+            state = target;
+        }
+
+        /**
+         * Reports the required segments and loops still missing when the input ends.
+         * @param lineNumber Position of the last segment
+         */
+        public void endOfInput(int lineNumber, ValidationErrorSink sink) {
+            report(missingAtEnd[state], lineNumber, sink);
+            state = startState;
+        }
+
+        private void startLoop(int loop, int lineNumber, ValidationErrorSink sink) {
+            int parent = loopParent[loop];
+            int parentIteration = parent >= 0 ? iteration[parent] : 0;
+            if (loopStamp[loop] == parentIteration && loopCount[loop] > 0) {
+                loopCount[loop]++;
+            } else {
+                loopStamp[loop] = parentIteration;
+                loopCount[loop] = 1;
+            }
+            iteration[loop] = ++iterations;
+            if (loopCount[loop] > loopMax[loop]) {
+                sink.accept(new ValidationError(loopRepeated[loop], lineNumber));
+            }
+        }
+
+        private void report(Missing[] missed, int lineNumber, ValidationErrorSink sink) {
+            for (Missing item : missed) {
+                if (!sink.acceptsMore()) {
+                    return;
+                }
+                sink.accept(new ValidationError(item.code, lineNumber));
+            }
+        }
+    }
+
+    /**
+     * A required segment or loop, with its error message registered at compile time.
+     */
+    private static final class Missing {
+        final int code;
+
+        Missing(String tag, String message) {
+            this.code = MessageCatalog.register(tag, FIELD_NAME, message);
+        }
+    }
+
+    private static final class Transition {
+        final byte action;
+        final int target;
+        final Missing[] missing;
+
+        Transition(byte action, int target, Missing[] missing) {
+            this.action = action;
+            this.target = target;
+            this.missing = missing;
+        }
+    }
+
+    /**
+     * One occurrence of a loop in the hierarchy.
+     */
+    private static final class Node {
+        final int id;
+        final LoopDefinition definition;
+        final Node parent;
+        final int indexInParent;
+        final int max;
+        // Per position: the state of a segment, or the child loop
+        final State[] states;
+        final Node[] children;
+        final Missing[] required;
+
+        Node(int id, LoopDefinition definition, Node parent, int indexInParent, int max) {
+            int size = definition.getPositions().size();
+            this.id = id;
+            this.definition = definition;
+            this.parent = parent;
+            this.indexInParent = indexInParent;
+            this.max = max;
+            this.states = new State[size];
+            this.children = new Node[size];
+            this.required = new Missing[size];
+        }
+    }
+
+    private static final class State {
+        final int id;
+        final Node loop;
+        final int index;
+        final String tag;
+        final int max;
+
+        State(int id, Node loop, int index, String tag, int max) {
+            this.id = id;
+            this.loop = loop;
+            this.index = index;
+            this.tag = tag;
+            this.max = max;
+        }
+    }
+
+    private static final class Compiler {
+        final List<Node> loops = new ArrayList<>();
+        final List<State> states = new ArrayList<>();
+
+        Compiler(LoopDefinition root) {
+            add(root, null, -1, LoopDefinition.UNBOUNDED);
+        }
+
+        private Node add(LoopDefinition definition, Node parent, int indexInParent, int max) {
+            Node node = new Node(loops.size(), definition, parent, indexInParent, max);
+            loops.add(node);
+            List<LoopDefinition.Position> positions = definition.getPositions();
+            for (int i = 0; i < positions.size(); i++) {
+                LoopDefinition.Position position = positions.get(i);
+                if (position.isLoop()) {
+                    node.children[i] = add(position.getLoop(), node, i, position.getMax());
+                    if (position.getMin() > 0) {
+                        node.required[i] = new Missing(position.getTag(),
+                            "Missing required loop " + position.getLoop().getId());
+                    }
+                } else {
+                    State state = new State(states.size(), node, i, position.getTag(), position.getMax());
+                    states.add(state);
+                    node.states[i] = state;
+                    if (position.getMin() > 0) {
+                        node.required[i] = new Missing(position.getTag(),
+                            "Missing required " + position.getTag() + " segment in loop " + definition.getId());
+                    }
+                }
+            }
+            return node;
+        }
+
+        /**
+         * Finds where {@code tag} leads from {@code from}, or null if it is not allowed there.
+         */
+        Transition transition(State from, String tag) {
+            if (from.max > 1 && from.tag.equals(tag)) {
+                return new Transition(REPEAT, from.id, NONE_MISSING);
+            }
+            List<Missing> missed = new ArrayList<>();
+            Node loop = from.loop;
+            int index = from.index;
+            while (loop != null) {
+                for (int i = index + 1; i < loop.states.length; i++) {
+                    if (loop.children[i] != null) {
+                        if (loop.children[i].definition.getTrigger().equals(tag)) {
+                            return new Transition(START_LOOP, loop.children[i].states[0].id, toArray(missed));
+                        }
+                    } else if (loop.states[i].tag.equals(tag)) {
+                        return new Transition(ADVANCE, loop.states[i].id, toArray(missed));
+                    }
+                    if (loop.required[i] != null) {
+                        missed.add(loop.required[i]);
+                    }
+                }
+                if (loop.max > 1 && loop.definition.getTrigger().equals(tag)) {
+                    return new Transition(START_LOOP, loop.states[0].id, toArray(missed));
+                }
+                index = loop.indexInParent;
+                loop = loop.parent;
+            }
+            return null;
+        }
+
+        /**
+         * Lists the required positions after {@code from} up to the end of the outermost loop.
+         */
+        Missing[] missingAtEnd(State from) {
+            List<Missing> missed = new ArrayList<>();
+            Node loop = from.loop;
+            int index = from.index;
+            while (loop != null) {
+                for (int i = index + 1; i < loop.states.length; i++) {
+                    if (loop.required[i] != null) {
+                        missed.add(loop.required[i]);
+                    }
+                }
+                index = loop.indexInParent;
+                loop = loop.parent;
+            }
+            return toArray(missed);
+        }
+
+        private static Missing[] toArray(List<Missing> missed) {
+            return missed.isEmpty() ? NONE_MISSING : missed.toArray(new Missing[0]);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.edi.validator.structure;
+
+import static com.edi.validator.structure.LoopDefinition.UNBOUNDED;
+
+/**
+ * Loop hierarchy of the ASC X12 005010X220A1 Benefit Enrollment and Maintenance (834)
+ * implementation guide, inside its interchange and functional group envelopes.
+ *
+ * <p>Loops that start with the same segment and differ only by qualifier are told apart by
+ * position: the first N1 after the header is 1000A, the second 1000B, later ones 1000C. The
+ * member name loops after 2100A (2100B to 2100H) share one definition. Segments the guide allows
+ * several times in a row with different qualifiers, such as the 2000 REF segments, are one
+ * position with the combined repeat count.</p>
+ */
+public final class X220A1 {
+    private static final LoopDefinition LOOP_1000A = LoopDefinition.builder("1000A")
+        .segment("N1", 1, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_1000B = LoopDefinition.builder("1000B")
+        .segment("N1", 1, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_1100C = LoopDefinition.builder("1100C")
+        .segment("ACT", 1, 1)
+        .segment("REF", 0, 5)
+        .segment("PER", 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_1000C = LoopDefinition.builder("1000C")
+        .segment("N1", 1, 1)
+        .loop(LOOP_1100C, 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2100A = LoopDefinition.builder("2100A")
+        .segment("NM1", 1, 1)
+        .segment("PER", 0, 1)
+        .segment("N3", 0, 1)
+        .segment("N4", 0, 1)
+        .segment("DMG", 0, 1)
+        .segment("EC", 0, UNBOUNDED)
+        .segment("ICM", 0, 1)
+        .segment("AMT", 0, 7)
+        .segment("HLH", 0, 1)
+        .segment("LUI", 0, UNBOUNDED)
+        .build();
+
+    private static final LoopDefinition LOOP_2100B_2100H = LoopDefinition.builder("2100B-2100H")
+        .segment("NM1", 1, 1)
+        .segment("PER", 0, 1)
+        .segment("N3", 0, 1)
+        .segment("N4", 0, 1)
+        .segment("DMG", 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2200 = LoopDefinition.builder("2200")
+        .segment("DSB", 1, 1)
+        .segment("DTP", 0, 2)
+        .segment("AD1", 0, UNBOUNDED)
+        .build();
+
+    private static final LoopDefinition LOOP_2310 = LoopDefinition.builder("2310")
+        .segment("LX", 1, 1)
+        .segment("NM1", 1, 1)
+        .segment("N3", 0, 2)
+        .segment("N4", 0, 1)
+        .segment("PER", 0, 2)
+        .segment("PRV", 0, 1)
+        .segment("DTP", 0, 1)
+        .segment("PLA", 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2330 = LoopDefinition.builder("2330")
+        .segment("NM1", 1, 1)
+        .segment("N3", 0, 1)
+        .segment("N4", 0, 1)
+        .segment("PER", 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2320 = LoopDefinition.builder("2320")
+        .segment("COB", 1, 1)
+        .segment("REF", 0, 4)
+        .segment("DTP", 0, 3)
+        .loop(LOOP_2330, 0, 3)
+        .build();
+
+    private static final LoopDefinition LOOP_2300 = LoopDefinition.builder("2300")
+        .segment("HD", 1, 1)
+        .segment("DTP", 1, 6)
+        .segment("AMT", 0, 9)
+        .segment("REF", 0, 14)
+        .segment("IDC", 0, 3)
+        .loop(LOOP_2310, 0, 30)
+        .loop(LOOP_2320, 0, 5)
+        .build();
+
+    private static final LoopDefinition LOOP_2750 = LoopDefinition.builder("2750")
+        .segment("N1", 1, 1)
+        .segment("REF", 1, 1)
+        .segment("DTP", 0, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2700 = LoopDefinition.builder("2700")
+        .segment("LX", 1, 1)
+        .loop(LOOP_2750, 1, 1)
+        .build();
+
+    private static final LoopDefinition LOOP_2000 = LoopDefinition.builder("2000")
+        .segment("INS", 1, 1)
+        .segment("REF", 1, 15)
+        .segment("DTP", 0, 24)
+        .loop(LOOP_2100A, 1, 1)
+        .loop(LOOP_2100B_2100H, 0, 25)
+        .loop(LOOP_2200, 0, UNBOUNDED)
+        .loop(LOOP_2300, 0, 99)
+        .segment("LS", 0, 1)
+        .loop(LOOP_2700, 0, UNBOUNDED)
+        .segment("LE", 0, 1)
+        .build();
+
+    /** The 834 transaction set, from ST to SE. */
+    public static final LoopDefinition TRANSACTION_SET = LoopDefinition.builder("ST/SE")
+        .segment("ST", 1, 1)
+        .segment("BGN", 1, 1)
+        .segment("REF", 0, 1)
+        .segment("DTP", 0, 6)
+        .segment("QTY", 0, 3)
+        .loop(LOOP_1000A, 1, 1)
+        .loop(LOOP_1000B, 1, 1)
+        .loop(LOOP_1000C, 0, 2)
+        .loop(LOOP_2000, 1, UNBOUNDED)
+        .segment("SE", 1, 1)
+        .build();
+
+    private static final LoopDefinition FUNCTIONAL_GROUP = LoopDefinition.builder("GS/GE")
+        .segment("GS", 1, 1)
+        .loop(TRANSACTION_SET, 1, UNBOUNDED)
+        .segment("GE", 1, 1)
+        .build();
+
+    /** One interchange, from ISA to IEA; a file holds one or more. */
+    public static final LoopDefinition INTERCHANGE = LoopDefinition.builder("ISA/IEA")
+        .segment("ISA", 1, 1)
+        .loop(FUNCTIONAL_GROUP, 1, UNBOUNDED)
+        .segment("IEA", 1, 1)
+        .build();
+
+    private X220A1() {
+    }
+}
\ No newline at end of file
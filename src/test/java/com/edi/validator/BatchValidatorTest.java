@@ -0,0 +1,95 @@
+package com.edi.validator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchValidatorTest {
+    private static final String SAMPLE = Paths.get("src", "test", "resources", "valid-834.edi").toString();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void expandsDirectoriesAndGlobsWithoutDuplicates() throws IOException {
+        File dir = folder.newFolder("intake");
+        File nested = folder.newFolder("intake", "partner");
+        Files.write(new File(dir, "a.edi").toPath(), new byte[0]);
+        Files.write(new File(dir, "b.txt").toPath(), new byte[0]);
+        Files.write(new File(nested, "c.edi").toPath(), new byte[0]);
+
+        List<Path> files = BatchValidator.expand(Arrays.asList(
+            dir.getPath(), dir.getPath() + "/**/*.edi"));
+
+        assertEquals(Arrays.asList(
+            new File(dir, "a.edi").toPath(), new File(dir, "b.txt").toPath(), new File(nested, "c.edi").toPath()),
+            files);
+    }
+
+    @Test
+    public void reportsEveryFileAndAggregateThroughput() throws Exception {
+        File dir = folder.newFolder("batch");
+        for (int i = 0; i < 5; i++) {
+            Files.copy(Paths.get(SAMPLE), new File(dir, "file" + i + ".edi").toPath());
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        BatchValidator.Summary summary = new BatchValidator(new EDI834Validator(), 3)
+            .run(Collections.singletonList(dir.getPath()), new PrintStream(buffer, true, "UTF-8"));
+
+        String output = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        int single = new EDI834Validator().validate(SAMPLE).size();
+        assertEquals(5, summary.getFiles());
+        assertEquals(5L * single, summary.getErrors());
+        assertEquals(5L * Files.size(Paths.get(SAMPLE)), summary.getBytes());
+        assertTrue(summary.getSegments() > 0);
+        assertTrue(output.contains("files/s"));
+        assertTrue(output.contains("segments/s"));
+        assertTrue(output.contains("MB/s"));
+    }
+
+    @Test
+    public void failedFileIsReportedAndTheOthersStillRun() throws Exception {
+        File dir = folder.newFolder("batch");
+        for (int i = 0; i < 3; i++) {
+            Files.copy(Paths.get(SAMPLE), new File(dir, "file" + i + ".edi").toPath());
+        }
+        Files.write(new File(dir, "empty.edi").toPath(), new byte[0]);
+        // Fails on the empty file only
+        EDIValidator validator = new EDI834Validator() {
+            @Override
+            protected void validateRequiredSegments(ValidationContext context) {
+                if (context.getSegmentCount() == 0) {
+                    throw new IllegalStateException("no segments");
+                }
+                super.validateRequiredSegments(context);
+            }
+        };
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        BatchValidator.Summary summary = new BatchValidator(validator, 2)
+            .run(Collections.singletonList(dir.getPath()), new PrintStream(buffer, true, "UTF-8"));
+
+        String output = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(4, summary.getFiles());
+        assertEquals(1, summary.getFailedFiles());
+        assertEquals(3L * new EDI834Validator().validate(SAMPLE).size(), summary.getErrors());
+        assertTrue(output.contains("empty.edi: validation failed: java.lang.IllegalStateException: no segments"));
+        assertTrue(output.contains("1 failed"));
+    }
+}
\ No newline at end of file
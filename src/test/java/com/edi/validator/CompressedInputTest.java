@@ -0,0 +1,123 @@
+package com.edi.validator;
+
+import com.edi.validator.model.RawSegment;
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedInputTest {
+    private static final String SAMPLE = "data/sample-834Dental.edi";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void gzipAndZipFilesMatchTheUncompressedFile() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        byte[] content = Files.readAllBytes(Paths.get(SAMPLE));
+        List<String> expected = render(validator.validate(SAMPLE));
+
+        File gzip = folder.newFile("sample.edi.gz");
+        Files.write(gzip.toPath(), gzip(content));
+        File zip = folder.newFile("sample.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip.toPath()))) {
+            out.putNextEntry(new ZipEntry("inbound/"));
+            out.putNextEntry(new ZipEntry("inbound/sample.edi"));
+            out.write(content);
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, render(validator.validate(gzip.getPath())));
+        assertEquals(expected, render(validator.validate(zip.getPath())));
+        assertEquals(expected, render(validator.validate(
+            SegmentTokenizer.decompressing(new ByteArrayInputStream(gzip(content))), new ValidationContext())));
+        assertEquals(expected, render(validator.validate(
+            SegmentTokenizer.decompressing(new ByteArrayInputStream(content)), new ValidationContext())));
+    }
+
+    @Test
+    public void inputLargerThanTheQueueIsStreamedThroughReusedChunks() throws IOException {
+        StringBuilder content = new StringBuilder();
+        int segments = 40_000;
+        for (int i = 0; i < segments; i++) {
+            content.append("REF*0F*").append(String.format("%09d", i)).append("~\n");
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        assertTrue(bytes.length > InflatingChannel.CHUNK_SIZE * (InflatingChannel.QUEUE_CAPACITY + 2));
+
+        try (SegmentTokenizer tokenizer = SegmentTokenizer.decompressing(new ByteArrayInputStream(gzip(bytes)))) {
+            RawSegment segment;
+            int count = 0;
+            String last = null;
+            while ((segment = tokenizer.next()) != null) {
+                count++;
+                last = segment.toString();
+            }
+            assertEquals(segments, count);
+            assertEquals("REF*0F*000039999", last);
+        }
+    }
+
+    @Test
+    public void corruptInputIsReportedAsAReadError() throws IOException {
+        byte[] compressed = gzip(Files.readAllBytes(Paths.get(SAMPLE)));
+        File truncated = folder.newFile("truncated.edi.gz");
+        Files.write(truncated.toPath(), Arrays.copyOf(compressed, compressed.length / 2));
+
+        List<ValidationError> errors = new EDI834Validator().validate(truncated.getPath());
+
+        ValidationError last = errors.get(errors.size() - 1);
+        assertEquals("SYSTEM", last.getSegmentCode());
+        assertTrue(last.getMessage().startsWith("Error reading EDI file: "));
+    }
+
+    @Test
+    public void closingEarlyStopsTheInflatingThread() throws Exception {
+        byte[] bytes = new byte[InflatingChannel.CHUNK_SIZE * (InflatingChannel.QUEUE_CAPACITY + 4)];
+        Arrays.fill(bytes, (byte) ' ');
+        SegmentTokenizer tokenizer = SegmentTokenizer.decompressing(new ByteArrayInputStream(gzip(bytes)));
+        tokenizer.close();
+
+        for (int i = 0; i < 100 && inflaterRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(inflaterRunning());
+    }
+
+    private static boolean inflaterRunning() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(thread -> thread.getName().startsWith("edi-inflate-") && thread.isAlive());
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> render(List<ValidationError> errors) {
+        return errors.stream().map(ValidationError::toString).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.edi.validator;
+
+import com.edi.validator.model.REFSegment;
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateIdDetectorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void idsReusedByAnotherMemberLoopAreReported() throws IOException {
+        String content = "ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n"
+            + "GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "ST*834*0001*005010X220A1~\n"
+            + "BGN*00*123456789*20230101*20230101*1200***2~\n"
+            + "N1*41*SPONSOR*FI*123456789~\nN1*40*PAYER*FI*987654321~\n"
+            + member("Y", "111111111", "A1")
+            // A dependent repeats its subscriber's REF*0F
+            + member("N", "111111111", "A2")
+            + member("Y", "222222222", "A3")
+            + member("Y", "111111111", "A2")
+            + "SE*19*0001~\nGE*1*1~\nIEA*1*000000001~\n";
+        File file = folder.newFile("duplicates.edi");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+
+        List<String> expected = Arrays.asList(
+            "17 REF Duplicate subscriber ID 111111111 (first used at line 8)",
+            "18 NM1 Duplicate member ID A2 (first used at line 12)");
+        List<ValidationError> errors = new EDI834Validator().validate(file.getPath());
+        assertEquals(expected, duplicates(errors));
+        assertEquals(expected, duplicates(new EDI834Validator().validateParallel(file.getPath())));
+        // MI is a valid NM108 qualifier
+        assertTrue(errors.stream().noneMatch(error -> error.getField().equals("Identification Code Qualifier")));
+    }
+
+    @Test
+    public void indexFindsEveryValueAfterGrowing() {
+        IdIndex index = new IdIndex();
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(-1, index.add(ref(Integer.toString(i, 36)), 2, i + 1));
+        }
+        for (int i = 0; i < 100_000; i += 7) {
+            assertEquals(i + 1, index.add(ref(Integer.toString(i, 36)), 2, 0));
+        }
+        assertEquals(-1, index.add(ref("0000"), 2, 1));
+        assertEquals(100_001, index.size());
+    }
+
+    private static String member(String subscriber, String subscriberId, String memberId) {
+        return "INS*" + subscriber + "*18*030*XN*A*E**FT*N*D8*20230101*N~\n"
+            + "REF*0F*" + subscriberId + "~\n"
+            + "NM1*IL*1*DOE*JOHN****MI*" + memberId + "~\n";
+    }
+
+    private static REFSegment ref(String id) {
+        return new REFSegment("REF*0F*" + id, 1);
+    }
+
+    private static List<String> duplicates(List<ValidationError> errors) {
+        return errors.stream()
+            .filter(error -> error.getMessage().startsWith("Duplicate"))
+            .map(error -> error.getLineNumber() + " " + error.getSegmentCode() + " " + error.getMessage())
+            .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EDI834GeneratorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void validFileHasNoErrors() throws IOException {
+        File file = folder.newFile("valid.edi");
+        EDI834Generator.Summary summary = new EDI834Generator().withMembers(500).withCoveragesPerMember(3).withErrorRate(0)
+            .write(file.toPath());
+
+        List<ValidationError> errors = new EDI834Validator().validate(file.getPath());
+
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertEquals(14 + 500 * 14, summary.getSegments());
+        assertEquals(Files.size(file.toPath()), summary.getBytes());
+        assertEquals(0, summary.getCorruptedMembers());
+    }
+
+    @Test
+    public void eachCorruptedMemberFailsOneCheck() throws IOException {
+        File file = folder.newFile("corrupt.edi");
+        EDI834Generator.Summary summary = new EDI834Generator().withMembers(2000).withCoveragesPerMember(2)
+            .withErrorRate(0.25).write(file.toPath());
+
+        List<ValidationError> errors = new EDI834Validator().validate(file.getPath());
+
+        assertTrue(summary.getCorruptedMembers() > 400 && summary.getCorruptedMembers() < 600);
+        assertEquals(summary.getCorruptedMembers(), errors.size());
+        // INS, NM1, HD, DTP and AMT corruptions all occur
+        assertEquals(5, errors.stream().map(ValidationError::getSegmentCode).distinct().count());
+    }
+
+    @Test
+    public void sameSeedWritesSameBytes() throws IOException {
+        EDI834Generator generator = new EDI834Generator().withMembers(100).withErrorRate(0.5).withSeed(42);
+
+        assertArrayEquals(bytes(generator), bytes(generator));
+        assertTrue(!Arrays.equals(bytes(generator), bytes(generator.withSeed(43))));
+        assertEquals(100, generator.withMembers(generator.membersFor(14 + 100 * 8)).write(new ByteArrayOutputStream()).getMembers());
+    }
+
+    private static byte[] bytes(EDI834Generator generator) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.write(out);
+        return out.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EnvelopeTrackerTest {
+    private static final String MEMBER = "INS*Y*18*030*XN*A*E**FT*N*D8*20230101*N~\nREF*0F*123456789~\n"
+        + "NM1*IL*1*DOE*JOHN****34*123456789~\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void matchingTrailersOverManyEnvelopesHaveNoErrors() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int interchange = 1; interchange <= 50; interchange++) {
+            content.append(isa(interchange));
+            for (int group = 1; group <= 3; group++) {
+                content.append("GS*BE*NYSTATE*RECEIVER*20230101*1200*").append(group).append("*X*005010X220A1~\n");
+                for (int set = 1; set <= 4; set++) {
+                    content.append(transactionSet("000" + set, set, 5 + 3 * set));
+                }
+                content.append("GE*4*").append(group).append("~\n");
+            }
+            content.append("IEA*3*").append(String.format("%09d", interchange)).append("~\n");
+        }
+
+        assertTrue(envelopeErrors(validate(content.toString())).isEmpty());
+    }
+
+    @Test
+    public void mismatchesAreReportedAtTheClosingSegment() throws IOException {
+        String content = isa(1)
+            + "GS*BE*NYSTATE*RECEIVER*20230101*1200*7*X*005010X220A1~\n"
+            + transactionSet("0001", 1, 9)
+            + transactionSet("0002", 1, 8).replace("SE*8*0002", "SE*8*0003")
+            + "GE*3*8~\n"
+            + "IEA*2*000000002~\n";
+
+        assertEquals(Arrays.asList(
+            "10 SE count 9 does not match the 8 segments in the transaction set",
+            "18 SE control number 0003 does not match ST control number 0002",
+            "19 GE count 3 does not match the 2 transaction sets in the group",
+            "19 GE control number 8 does not match GS control number 7",
+            "20 IEA count 2 does not match the 1 functional groups in the interchange",
+            "20 IEA control number 000000002 does not match ISA control number 000000001"),
+            envelopeErrors(validate(content)));
+    }
+
+    @Test
+    public void requiredSegmentsAreCheckedPerTransactionSet() throws IOException {
+        String body = "BGN*00*123456789*20230101*20230101*1200***2~\nN1*41*SPONSOR*FI*123456789~\n" + MEMBER
+            + "DMG*D8*19800101*M~\nHD*030**HLT~\nDTP*348*D8*20230101~\nAMT*D2*100~\nLX*1~\n"
+            + "PLA*2*1P*20230101*AI~\nLS*2700~\nLE*2700~\n";
+        String content = isa(1)
+            + "GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "ST*834*0001*005010X220A1~\n" + body + "SE*15*0001~\n"
+            // No SE, so this set is closed by the next ST
+            + "ST*834*0002*005010X220A1~\n" + body.replace("DMG*D8*19800101*M~\n", "")
+            + "ST*834*0003*005010X220A1~\n" + body + "SE*15*0003~\n"
+            + "GE*3*1~\n"
+            + "IEA*1*000000001~\n";
+
+        List<String> missing = validate(content).stream()
+            .filter(error -> error.getField().equals("Segment"))
+            .map(error -> error.getLineNumber() + " " + error.getMessage())
+            .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("31 Missing required DMG segment in the transaction set starting at line 18"),
+            missing);
+    }
+
+    @Test
+    public void segmentsTheLoopStructureRequiresAreReportedOnce() throws IOException {
+        String header = "BGN*00*123456789*20230101*20230101*1200***2~\nN1*P5*SPONSOR*FI*123456789~\n"
+            + "N1*IN*PAYER*FI*987654321~\n";
+        // The second transaction set has no member loop
+        String content = isa(1)
+            + "GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "ST*834*0001*005010X220A1~\n" + header + MEMBER + "SE*8*0001~\n"
+            + "ST*834*0002*005010X220A1~\n" + header + "SE*5*0002~\n"
+            + "GE*2*1~\n"
+            + "IEA*1*000000001~\n";
+        List<String> messages = validate(content).stream().map(ValidationError::getMessage).collect(Collectors.toList());
+        assertTrue(messages.contains("Missing required loop 2000"));
+        assertTrue(messages.stream().noneMatch(message -> message.startsWith("Missing required INS segment")));
+
+        String withoutTransactionSet = isa(1)
+            + "GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "GE*0*1~\n"
+            + "IEA*1*000000001~\n";
+        messages = validate(withoutTransactionSet).stream().map(ValidationError::getMessage).collect(Collectors.toList());
+        assertTrue(messages.contains("Missing required loop ST/SE"));
+        assertTrue(messages.stream().noneMatch(message -> message.equals("Missing required ST segment")));
+    }
+
+    private static String isa(int controlNumber) {
+        return "ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*"
+            + String.format("%09d", controlNumber) + "*0*P*:~\n";
+    }
+
+    private static String transactionSet(String controlNumber, int members, int declaredCount) {
+        StringBuilder set = new StringBuilder("ST*834*").append(controlNumber).append("*005010X220A1~\n")
+            .append("BGN*00*123456789*20230101*20230101*1200***2~\n")
+            .append("N1*41*SPONSOR*FI*123456789~\nN1*40*PAYER*FI*987654321~\n");
+        for (int i = 0; i < members; i++) {
+            set.append(MEMBER);
+        }
+        return set.append("SE*").append(declaredCount).append("*").append(controlNumber).append("~\n").toString();
+    }
+
+    private List<ValidationError> validate(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+        List<ValidationError> sequential = new EDI834Validator().validate(file.getPath());
+        assertEquals(format(sequential), format(new EDI834Validator().validateParallel(file.getPath())));
+        return sequential;
+    }
+
+    private static List<String> envelopeErrors(List<ValidationError> errors) {
+        return errors.stream()
+            .filter(error -> error.getMessage().contains("does not match"))
+            .map(error -> error.getLineNumber() + " " + error.getMessage())
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> format(List<ValidationError> errors) {
+        return errors.stream().map(ValidationError::toString).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalValidationTest {
+    private static final int MEMBERS = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void revalidatesOnlyEditedLoopsAndMatchesFullRun() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        File file = folder.newFile("members.edi");
+        Path cacheFile = folder.getRoot().toPath().resolve("members.edi.vcache");
+        write(file, -1, -1);
+
+        LoopResultCache first = LoopResultCache.load(cacheFile, validator.getRulesetId());
+        List<ValidationError> initial = validator.validate(file.getPath(), new ValidationContext(), first);
+        assertEquals(validator.validate(file.getPath()).toString(), initial.toString());
+        assertEquals(0, first.getHits());
+        assertEquals(MEMBERS, first.getMisses());
+        assertTrue(Files.exists(cacheFile));
+
+        // Break member 30 and add a segment to member 5, which moves every later loop down a line
+        write(file, 5, 30);
+        LoopResultCache second = LoopResultCache.load(cacheFile, validator.getRulesetId());
+        List<ValidationError> edited = validator.validate(file.getPath(), new ValidationContext(), second);
+        assertEquals(validator.validate(file.getPath()).toString(), edited.toString());
+        assertEquals(MEMBERS - 2, second.getHits());
+        assertEquals(2, second.getMisses());
+    }
+
+    @Test
+    public void damagedOrForeignCacheIsIgnored() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        File file = folder.newFile("members.edi");
+        Path cacheFile = folder.getRoot().toPath().resolve("members.edi.vcache");
+        write(file, -1, 30);
+        String expected = validator.validate(file.getPath()).toString();
+
+        Files.write(cacheFile, "not a cache".getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(expected, validator.validateIncremental(file.getPath(), new ValidationContext(), cacheFile).toString());
+
+        LoopResultCache foreign = LoopResultCache.load(cacheFile, "other rules");
+        assertEquals(expected, validator.validate(file.getPath(), new ValidationContext(), foreign).toString());
+        assertEquals(0, foreign.getHits());
+    }
+
+    @Test
+    public void oversizedElementIsCachedWithItsError() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        File file = folder.newFile("members.edi");
+        Path cacheFile = folder.getRoot().toPath().resolve("members.edi.vcache");
+        write(file, -1, -1);
+        // An SSN of 70,000 characters, quoted in full by its error
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1);
+        content = content.replaceFirst("\\*34\\*123456789~", "*34*" + "9".repeat(70_000) + "~");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+        String expected = validator.validate(file.getPath()).toString();
+
+        assertEquals(expected, validator.validateIncremental(file.getPath(), new ValidationContext(), cacheFile).toString());
+        assertTrue(Files.exists(cacheFile));
+        assertFalse(Files.exists(cacheFile.resolveSibling("members.edi.vcache.tmp")));
+
+        LoopResultCache cache = LoopResultCache.load(cacheFile, validator.getRulesetId());
+        assertEquals(expected, validator.validate(file.getPath(), new ValidationContext(), cache).toString());
+        assertEquals(MEMBERS, cache.getHits());
+    }
+
+    @Test
+    public void unwritableCacheStillReturnsTheErrors() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        File file = folder.newFile("members.edi");
+        Path cacheFile = folder.getRoot().toPath().resolve("missing").resolve("members.edi.vcache");
+        write(file, -1, 30);
+
+        assertEquals(validator.validate(file.getPath()).toString(),
+            validator.validateIncremental(file.getPath(), new ValidationContext(), cacheFile).toString());
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    /**
+     * Writes a transaction set of MEMBERS loops, every fourth one with errors of its own.
+     * @param extraSegmentMember Member given an extra DTP segment, or -1
+     * @param brokenMember Member given an invalid birth date, or -1
+     */
+    private static void write(File file, int extraSegmentMember, int brokenMember) throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append("ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n");
+        content.append("GS*BE*NYSTATE*RECEIVER*230101*1200*1*X*005010X220A1~\n");
+        content.append("ST*834*0001*005010X220A1~\n");
+        content.append("BGN*00*12345*20230101*1200****2~\n");
+        int segments = 2;
+        for (int i = 0; i < MEMBERS; i++) {
+            String relationship = i % 4 == 0 ? "00" : "18";
+            String date = i == brokenMember ? "2023AB01" : "20230101";
+            content.append("INS*Y*").append(relationship).append("*030*XN*A*E**FT*N*D8*").append(date).append("*N~\n");
+            content.append("REF*0F*").append(String.format("%09d", i)).append("~\n");
+            content.append("NM1*IL*1*DOE*JOHN****34*").append(i % 4 == 1 ? "BAD" : "123456789").append("~\n");
+            content.append("DTP*348*D8*20230101~\n");
+            segments += 4;
+            if (i == extraSegmentMember) {
+                content.append("DTP*349*D8*2023013~\n");
+                segments++;
+            }
+        }
+        content.append("SE*").append(segments + 1).append("*0001~\nGE*1*1~\nIEA*1*000000001~\n");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
\ No newline at end of file
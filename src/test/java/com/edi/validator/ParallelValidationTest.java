@@ -0,0 +1,112 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelValidationTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parallelErrorsMatchSequentialErrorsInFileOrder() throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append("ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n");
+        content.append("GS*BE*NYSTATE*RECEIVER*230101*1200*1*X*005010X220A1~\n");
+        content.append("ST*834*0001*005010X220A1~\n");
+        content.append("BGN*00*12345*20230101*1200****2~\n");
+        for (int i = 0; i < 200; i++) {
+            // Every third member carries an invalid relationship code and an invalid date
+            String relationship = i % 3 == 0 ? "00" : "18";
+            String date = i % 3 == 0 ? "2023AB01" : "20230101";
+            content.append("INS*Y*").append(relationship).append("*030*XN*A*E**FT*N*D8*").append(date).append("*N~\n");
+            content.append("REF*0F*").append(String.format("%09d", i)).append("~\n");
+            content.append("NM1*IL*1*DOE*JOHN****34*").append(i % 5 == 0 ? "BAD" : "123456789").append("~\n");
+            content.append("DTP*348*D8*").append(date).append("~\n");
+        }
+        content.append("SE*803*0001~\nGE*1*1~\nIEA*1*000000001~\n");
+        File file = folder.newFile("members.edi");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        List<ValidationError> sequential = new EDI834Validator().validate(file.getPath());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ValidationError> parallel = new EDI834Validator().validate(file.getPath(), executor, 3);
+
+            assertTrue(sequential.size() > 200);
+            assertEquals(sequential.toString(), parallel.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void crossSegmentErrorsFollowTheSegmentsOwnInEveryMode() throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append("ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n");
+        content.append("GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n");
+        content.append("ST*834*0001*005010X220A1~\nBGN*00*12345*20230101*1200****2~\n");
+        for (int i = 0; i < 20; i++) {
+            content.append("INS*Y*18*030*XN*A*E**FT*N*D8*20230101*N~\n");
+            content.append("REF*0F*").append(String.format("%09d", i)).append("~\n");
+        }
+        // The first transaction set has no SE; the second ST is invalid itself
+        content.append("ST*999*0002*005010X220A1~\nSE*2*0002~\nGE*2*1~\nIEA*1*000000001~\n");
+        File file = folder.newFile("open-set.edi");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        List<ValidationError> sequential = new EDI834Validator().validate(file.getPath());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ValidationError> parallel = new EDI834Validator().validate(file.getPath(), executor, 2);
+            List<ValidationError> incremental = new EDI834Validator().validate(file.getPath(), new ValidationContext(),
+                LoopResultCache.load(folder.getRoot().toPath().resolve("open-set.vcache"), "test"));
+
+            List<ValidationError> atSecondSt = sequential.stream()
+                .filter(error -> error.getLineNumber() == 45).collect(Collectors.toList());
+            assertEquals("ST", atSecondSt.get(0).getSegmentCode());
+            assertTrue(atSecondSt.stream().anyMatch(error -> error.getMessage().endsWith("transaction set starting at line 3")));
+            assertEquals(sequential.toString(), parallel.toString());
+            assertEquals(sequential.toString(), incremental.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sharedValidatorKeepsNoStateBetweenConcurrentCalls() throws Exception {
+        File file = folder.newFile("single.edi");
+        Files.write(file.toPath(), ("ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n"
+            + "INS*Y*00*030*XN*A*E**FT*N*D8*20230101*N~\n").getBytes(StandardCharsets.ISO_8859_1));
+        EDIValidator validator = new EDI834Validator();
+        String expected = validator.validate(file.getPath()).toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> validator.validate(file.getPath()).toString()));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.edi.validator;
+
+import com.edi.validator.model.GenericSegment;
+import com.edi.validator.model.INSSegment;
+import com.edi.validator.model.RawSegment;
+import com.edi.validator.model.SESegment;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SegmentDispatchTableTest {
+    @Test
+    public void everyRegisteredTagResolvesToItsOwnEntry() {
+        SegmentDispatchTable.Builder builder = SegmentDispatchTable.builder();
+        EDISegmentFactory.getConstructors().forEach((tag, constructor) ->
+            builder.add(tag, constructor, EDISegmentValidatorFactory.getValidator(tag)));
+        builder.add("N3", null, null).add("N4", null, null).add("PER", null, null);
+        SegmentDispatchTable table = builder.build();
+
+        for (int id = 0; id < table.size(); id++) {
+            SegmentDispatchTable.Entry entry = table.getEntries().get(id);
+            assertEquals(id, entry.getId());
+            assertSame(entry, table.lookup(entry.getTag()));
+            assertSame(entry, table.lookup(RawSegment.parse(entry.getTag() + "*X*Y", (byte) '*')));
+            assertSame(EDISegmentValidatorFactory.getValidator(entry.getTag()), entry.getValidator());
+        }
+        assertTrue(table.lookup("INS").createSegment(RawSegment.parse("INS*Y*18", (byte) '*'), 3) instanceof INSSegment);
+        assertTrue(table.lookup("SE").createSegment(RawSegment.parse("SE*2*0001", (byte) '*'), 4) instanceof SESegment);
+        assertTrue(table.lookup("N3").createSegment(RawSegment.parse("N3*1 MAIN ST", (byte) '*'), 5) instanceof GenericSegment);
+    }
+
+    @Test
+    public void unknownTagsAreNotFound() {
+        SegmentDispatchTable table = SegmentDispatchTable.builder()
+            .add("GS", null, null)
+            .add("GSA", null, null)
+            .build();
+
+        assertEquals("GS", table.lookup("GS").getTag());
+        assertEquals("GSA", table.lookup("GSA").getTag());
+        assertNull(table.lookup("G"));
+        assertNull(table.lookup("SG"));
+        assertNull(table.lookup("GSAX"));
+        assertNull(table.lookup(RawSegment.parse("NM1*IL", (byte) '*')));
+        assertNull(table.lookup(RawSegment.parse("*IL", (byte) '*')));
+        assertNull(SegmentDispatchTable.builder().build().lookup("ISA"));
+    }
+}
\ No newline at end of file
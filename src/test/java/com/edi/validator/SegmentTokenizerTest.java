@@ -0,0 +1,200 @@
+package com.edi.validator;
+
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.GenericSegment;
+import com.edi.validator.model.RawSegment;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SegmentTokenizerTest {
+    private static final String ISA =
+        "ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~";
+
+    @Test
+    public void splitsSingleLineFileOnSegmentTerminator() throws IOException {
+        List<String> segments = tokenize(ISA + "GS*BE*NYSTATE~ST*834*0001~IEA*1*000000001~", SegmentTokenizer.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(4, segments.size());
+        assertEquals("GS*BE*NYSTATE", segments.get(1));
+        assertEquals("IEA*1*000000001", segments.get(3));
+    }
+
+    @Test
+    public void skipsLineBreaksAndEmptySegments() throws IOException {
+        List<String> segments = tokenize(ISA + "\r\nGS*BE*NYSTATE~\n~\nST*834*0001~ \n", SegmentTokenizer.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(3, segments.size());
+        assertEquals("ST*834*0001", segments.get(2));
+    }
+
+    @Test
+    public void readsDelimitersFromIsaHeader() throws IOException {
+        String isa = ISA.replace('*', '|').replace('~', '\n');
+        SegmentTokenizer tokenizer = tokenizer(isa + "GS|BE|NYSTATE\nST|834|0001", SegmentTokenizer.DEFAULT_BUFFER_SIZE);
+
+        tokenizer.next();
+        assertEquals('|', tokenizer.getDelimiters().getElementSeparator());
+        assertEquals(':', tokenizer.getDelimiters().getComponentSeparator());
+        assertEquals('^', tokenizer.getDelimiters().getRepetitionSeparator());
+        assertEquals('\n', tokenizer.getDelimiters().getSegmentTerminator());
+        RawSegment gs = tokenizer.next();
+        assertEquals("GS|BE|NYSTATE", gs.toString());
+        assertEquals("GS", gs.getTag());
+        assertEquals(3, gs.getFieldCount());
+        assertEquals("ST|834|0001", tokenizer.next().toString());
+        assertEquals(null, tokenizer.next());
+        assertEquals(3, tokenizer.getSegmentCount());
+    }
+
+    @Test
+    public void headerWithoutIsa16EndsAtTheTerminator() throws IOException {
+        String isa = ISA.replace("*P*:~", "*P*~\n");
+        SegmentTokenizer tokenizer = tokenizer(isa + "GS*BE*NYSTATE~\nST*834*0001~\n", SegmentTokenizer.DEFAULT_BUFFER_SIZE);
+
+        RawSegment header = tokenizer.next();
+        assertEquals(17, header.getFieldCount());
+        assertTrue(header.toString().endsWith("*P*"));
+        assertEquals('~', tokenizer.getDelimiters().getSegmentTerminator());
+        assertEquals(':', tokenizer.getDelimiters().getComponentSeparator());
+        assertEquals("GS*BE*NYSTATE", tokenizer.next().toString());
+        assertEquals("ST*834*0001", tokenizer.next().toString());
+
+        List<String> unbroken = tokenize(ISA.replace("*P*:~", "*P*~") + "GS*BE*NYSTATE~", SegmentTokenizer.DEFAULT_BUFFER_SIZE);
+        assertEquals("GS*BE*NYSTATE", unbroken.get(1));
+    }
+
+    @Test
+    public void handlesSegmentsLongerThanTheBuffer() throws IOException {
+        StringBuilder longSegment = new StringBuilder("NM1*IL*1*");
+        for (int i = 0; i < 1000; i++) {
+            longSegment.append('X');
+        }
+        List<String> segments = tokenize(ISA + longSegment + "~REF*0F*123456789~", 128);
+
+        assertEquals(3, segments.size());
+        assertEquals(longSegment.toString(), segments.get(1));
+        assertEquals("REF*0F*123456789", segments.get(2));
+    }
+
+    @Test
+    public void segmentsStayValidAfterLaterReads() throws IOException {
+        SegmentTokenizer tokenizer = tokenizer(ISA + "HD*030**HLT*PPO*IND~DTP*348*D8*20230101~", 128);
+        List<EDISegment> segments = new ArrayList<>();
+        RawSegment raw;
+        while ((raw = tokenizer.next()) != null) {
+            segments.add(new GenericSegment(raw.getTag(), raw, tokenizer.getSegmentCount()));
+        }
+
+        EDISegment hd = segments.get(1);
+        assertEquals(6, hd.getFieldCount());
+        assertEquals("HLT", hd.getField(3));
+        assertTrue(hd.isFieldEmpty(2));
+        assertTrue(hd.fieldEquals(5, "IND"));
+        assertEquals("", hd.getField(9));
+        assertEquals("DTP*348*D8*20230101", segments.get(2).getRawLine());
+    }
+
+    @Test
+    public void mappedInputMatchesChannelInputAcrossWindowBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder(ISA);
+        for (int i = 0; i < 200; i++) {
+            content.append("INS*Y*18*030*XN*A*E**FT~\nREF*0F*").append(String.format("%09d", i)).append("~\n");
+        }
+        Path file = Files.createTempFile("mapped", ".edi");
+        try {
+            Files.write(file, content.toString().getBytes(StandardCharsets.ISO_8859_1));
+            List<String> mapped = new ArrayList<>();
+            // A window much smaller than the file forces segments to straddle mappings
+            try (SegmentTokenizer tokenizer = new SegmentTokenizer(new MappedFileChannel(file, 97), 128)) {
+                RawSegment segment;
+                while ((segment = tokenizer.next()) != null) {
+                    mapped.add(segment.toString());
+                }
+            }
+
+            assertEquals(tokenize(content.toString(), 128), mapped);
+            assertEquals(401, mapped.size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void nonBlockingTokenizerResumesSegmentsSplitAcrossReads() throws IOException {
+        String content = ISA.replace('*', '|') + "\nGS|BE|NYSTATE~\nST|834|0001~IEA|1|000000001";
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        // Every other read finds nothing; the others deliver five bytes
+        ReadableByteChannel trickle = new ReadableByteChannel() {
+            private int reads;
+            private int position;
+
+            @Override
+            public int read(ByteBuffer target) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                if (reads++ % 2 == 0) {
+                    return 0;
+                }
+                int length = Math.min(5, bytes.length - position);
+                target.put(bytes, position, length);
+                position += length;
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        SegmentTokenizer tokenizer = SegmentTokenizer.nonBlocking(trickle);
+        List<String> segments = new ArrayList<>();
+        int waits = 0;
+        while (true) {
+            RawSegment segment = tokenizer.next();
+            if (segment != null) {
+                segments.add(segment.toString());
+            } else if (tokenizer.needsInput()) {
+                waits++;
+            } else {
+                break;
+            }
+        }
+
+        assertEquals(tokenize(content, SegmentTokenizer.DEFAULT_BUFFER_SIZE), segments);
+        assertEquals(4, segments.size());
+        assertTrue(waits > 4);
+    }
+
+    private static List<String> tokenize(String content, int bufferSize) throws IOException {
+        SegmentTokenizer tokenizer = tokenizer(content, bufferSize);
+        List<String> segments = new ArrayList<>();
+        RawSegment segment;
+        while ((segment = tokenizer.next()) != null) {
+            segments.add(segment.toString());
+        }
+        return segments;
+    }
+
+    private static SegmentTokenizer tokenizer(String content, int bufferSize) {
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        return new SegmentTokenizer(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize);
+    }
+}
@@ -0,0 +1,76 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.ValidationErrorSink;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.ValidationError;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationErrorSinkTest {
+    private static final String TEST_FILE = Paths.get("src", "test", "resources", "valid-834.edi").toString();
+
+    @Test
+    public void streamedErrorsMatchCollectedErrors() {
+        EDIValidator validator = new EDI834Validator();
+        List<ValidationError> collected = validator.validate(TEST_FILE);
+        List<String> streamed = new ArrayList<>();
+
+        ValidationContext context = new ValidationContext(error -> streamed.add(error.getLineNumber() + " " + error.getMessage()));
+        List<ValidationError> retained = validator.validate(TEST_FILE, context);
+
+        assertTrue(retained.isEmpty());
+        assertEquals(collected.size(), context.getErrorCount());
+        for (int i = 0; i < collected.size(); i++) {
+            assertEquals(collected.get(i).getLineNumber() + " " + collected.get(i).getMessage(), streamed.get(i));
+        }
+    }
+
+    @Test
+    public void validSegmentsAllocateNothing() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        EDISegment[] segments = {
+            EDISegmentFactory.createSegment("INS", "INS*Y*18*030*28*A*E*A*F*N*N*D8*20230101*N", 1),
+            EDISegmentFactory.createSegment("HD", "HD*030*HLT*HLT*PPO*IND", 2),
+            EDISegmentFactory.createSegment("AMT", "AMT*D2*125.50", 3),
+            EDISegmentFactory.createSegment("NM1", "NM1*IL*1*DOE*JOHN****34*123456789", 4),
+            EDISegmentFactory.createSegment("SV1", "SV1*HC99213*100.00*UN*1.5*11*A*1", 5)
+        };
+        EDISegmentValidator[] validators = new EDISegmentValidator[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            validators[i] = EDISegmentValidatorFactory.getValidator(segments[i].getSegmentCode());
+        }
+        ValidationErrorSink failOnError = error -> {
+            throw new AssertionError(error.getMessage());
+        };
+
+        for (int round = 0; round < 20_000; round++) {
+            for (int i = 0; i < segments.length; i++) {
+                validators[i].validate(segments[i], failOnError);
+            }
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 10_000; round++) {
+            for (int i = 0; i < segments.length; i++) {
+                validators[i].validate(segments[i], failOnError);
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Leaves room for the measurement itself but not for one object per call
+        assertTrue("allocated " + allocated + " bytes", allocated < 50_000);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.edi.validator;
+
+import com.edi.validator.model.MessageCatalog;
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.model.ValidationErrorList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValidationErrorTest {
+    private static final int BAD_DATE = MessageCatalog.register("DMG", "Date",
+        "Invalid DMG date format: {} (must be CCYYMMDD)");
+    private static final int UNEXPECTED = MessageCatalog.register(null, "Loop Structure",
+        "Unexpected {} segment in loop {}");
+
+    @Test
+    public void messagesAreRenderedFromTheCatalog() {
+        ValidationError error = new ValidationError(BAD_DATE, 2, "2023AB01", 7);
+        assertEquals(BAD_DATE, MessageCatalog.register("DMG", "Date", "Invalid DMG date format: {} (must be CCYYMMDD)"));
+        assertEquals("Line 7: DMG segment - Date - Invalid DMG date format: 2023AB01 (must be CCYYMMDD)",
+            error.toString());
+        assertEquals(2, error.getElementIndex());
+
+        ValidationError unexpected = new ValidationError(UNEXPECTED, new Object[] {"ZZZ", "2000"}, 9);
+        assertEquals("ZZZ", unexpected.getSegmentCode());
+        assertEquals("Unexpected ZZZ segment in loop 2000", unexpected.getMessage());
+
+        ValidationError ready = new ValidationError("REF", "Reference", "Made up front", 3);
+        assertEquals("Made up front", ready.getMessage());
+        assertEquals("Reference", ready.getField());
+    }
+
+    @Test
+    public void listKeepsEveryArgument() {
+        List<ValidationError> errors = new ValidationErrorList();
+        String[] values = {"", "A", "20230101", "123456789", "café", "€", "ÿÿÿÿÿÿÿÿ"};
+        for (int i = 0; i < 100; i++) {
+            errors.add(new ValidationError(BAD_DATE, 2, values[i % values.length], i));
+        }
+        errors.add(new ValidationError(UNEXPECTED, new Object[] {"N1", 2000}, 100));
+
+        assertEquals(101, errors.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, errors.get(i).getLineNumber());
+            assertEquals("Invalid DMG date format: " + values[i % values.length] + " (must be CCYYMMDD)",
+                errors.get(i).getMessage());
+        }
+        assertEquals("Unexpected N1 segment in loop 2000", errors.get(100).getMessage());
+    }
+
+    @Test
+    public void codecStoresMessagesNotCodes() throws IOException {
+        List<ValidationError> errors = new ValidationErrorList();
+        errors.add(new ValidationError(BAD_DATE, 2, "2023AB01", 12));
+        errors.add(new ValidationError(UNEXPECTED, new Object[] {"ZZZ", "2300"}, 15));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ValidationErrorCodec.write(new DataOutputStream(bytes), errors, 10);
+        List<ValidationError> read = ValidationErrorCodec.read(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 100);
+
+        assertEquals(2, read.size());
+        assertEquals(BAD_DATE, read.get(0).getCode());
+        assertEquals(2, read.get(0).getElementIndex());
+        assertEquals("Line 102: DMG segment - Date - Invalid DMG date format: 2023AB01 (must be CCYYMMDD)",
+            read.get(0).toString());
+        assertEquals("Line 105: ZZZ segment - Loop Structure - Unexpected ZZZ segment in loop 2300",
+            read.get(1).toString());
+    }
+}
\ No newline at end of file
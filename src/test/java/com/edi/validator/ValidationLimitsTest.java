@@ -0,0 +1,107 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationLimitsTest {
+    private static final String TEST_FILE = Paths.get("src", "test", "resources", "valid-834.edi").toString();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void failFastStopsReadingAtFirstError() {
+        EDIValidator validator = new EDI834Validator();
+        List<ValidationError> all = validator.validate(TEST_FILE);
+        ValidationContext context = new ValidationContext(ValidationLimits.failFast());
+
+        List<ValidationError> errors = validator.validate(TEST_FILE, context);
+
+        assertEquals(1, errors.size());
+        assertEquals(all.get(0).getMessage(), errors.get(0).getMessage());
+        assertTrue(context.isStopped());
+        assertEquals(errors.get(0).getLineNumber(), context.getSegmentCount());
+        assertFalse(validator.isAcceptable(TEST_FILE));
+    }
+
+    @Test
+    public void perSegmentLimitsKeepEarliestErrors() {
+        EDIValidator validator = new EDI834Validator();
+
+        List<ValidationError> perType = validator.validate(TEST_FILE,
+            new ValidationContext(ValidationLimits.NONE.withMaxErrorsPerSegmentType(2)));
+        assertEquals(2, count(perType, "INS"));
+        assertEquals(0, count(perType, "ISA"));
+
+        List<ValidationError> firstOnly = validator.validate(TEST_FILE,
+            new ValidationContext(ValidationLimits.NONE.withFirstErrorPerSegment()));
+        assertEquals(1, count(firstOnly, "INS"));
+        assertEquals("Maintenance Reason Code", firstOnly.stream()
+            .filter(error -> "INS".equals(error.getSegmentCode())).findFirst().get().getField());
+    }
+
+    @Test
+    public void twoLetterAndUnknownTagsAreTrackedByTag() throws IOException {
+        File file = folder.newFile("tags.edi");
+        Files.write(file.toPath(), ("ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       "
+            + "*230101*1200*^*00501*000000001*0*P*:~\nGS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "N1*XX*SPONSOR~\nN1*YY*PAYER~\nZZ*1~\nZZ*2~\n").getBytes(StandardCharsets.ISO_8859_1));
+        EDIValidator validator = new EDI834Validator();
+
+        ValidationContext all = new ValidationContext();
+        validator.validate(file.getPath(), all);
+        assertEquals(4, count(all.getErrors(), "N1"));
+        assertEquals(2, count(all.getErrors(), "ZZ"));
+        assertTrue(all.isSegmentPresent("GS"));
+        assertTrue(all.isSegmentPresent("N1"));
+        assertTrue(all.isSegmentPresent("ZZ"));
+        assertFalse(all.isSegmentPresent("ST"));
+        // Reported once, by the loop structure
+        assertEquals(1, count(all.getErrors(), "ST"));
+
+        ValidationContext limited = new ValidationContext(ValidationLimits.NONE.withMaxErrorsPerSegmentType(1));
+        validator.validate(file.getPath(), limited);
+        assertEquals(1, count(limited.getErrors(), "N1"));
+        assertEquals(1, count(limited.getErrors(), "ZZ"));
+        assertFalse(limited.acceptsErrorsFor("N1"));
+        assertTrue(limited.acceptsErrorsFor("GS"));
+    }
+
+    @Test
+    public void parallelRunHonoursTheSameLimits() throws InterruptedException {
+        EDIValidator validator = new EDI834Validator();
+        ValidationLimits limits = ValidationLimits.NONE.withMaxErrors(7).withFirstErrorPerSegment();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ValidationError> sequential = validator.validate(TEST_FILE, new ValidationContext(limits));
+            List<ValidationError> parallel = validator.validate(TEST_FILE, new ValidationContext(limits), executor, 1);
+
+            assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).getMessage(), parallel.get(i).getMessage());
+                assertEquals(sequential.get(i).getLineNumber(), parallel.get(i).getLineNumber());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long count(List<ValidationError> errors, String segmentCode) {
+        return errors.stream().filter(error -> segmentCode.equals(error.getSegmentCode())).count();
+    }
+}
\ No newline at end of file
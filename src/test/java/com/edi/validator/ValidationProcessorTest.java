@@ -0,0 +1,177 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import com.edi.validator.model.ValidationEvent;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationProcessorTest {
+    private static final String SAMPLE = "data/sample-834Dental.edi";
+
+    @Test
+    public void streamedEventsMatchFileValidation() throws IOException {
+        List<String> expected = new EDI834Validator().validate(SAMPLE).stream()
+            .map(ValidationError::toString).collect(Collectors.toList());
+        byte[] content = Files.readAllBytes(Paths.get(SAMPLE));
+
+        // Small buffers split the ISA header and most segments across deliveries
+        ChunkPublisher publisher = new ChunkPublisher(content, 7);
+        ValidationProcessor processor = new EDI834Validator().newProcessor(ValidationLimits.NONE);
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        assertFalse(expected.isEmpty());
+        assertTrue(subscriber.completed);
+        assertEquals(expected, subscriber.errors());
+        assertEquals(processor.getContext().getSegmentCount(), subscriber.segments().size());
+        assertTrue(subscriber.segments().get(0).startsWith("Line 1: ISA*"));
+        assertEquals(publisher.chunkCount(), publisher.delivered);
+    }
+
+    @Test
+    public void buffersAreOnlyRequestedForOutstandingEvents() throws IOException {
+        byte[] content = Files.readAllBytes(Paths.get(SAMPLE));
+        ChunkPublisher publisher = new ChunkPublisher(content, 128);
+        ValidationProcessor processor = new EDI834Validator().newProcessor(ValidationLimits.NONE);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        assertEquals(0, publisher.delivered);
+        subscriber.subscription.request(3);
+        assertEquals(3, subscriber.events.size());
+        assertEquals(2, publisher.delivered);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.completed);
+        assertEquals(publisher.chunkCount(), publisher.delivered);
+    }
+
+    @Test
+    public void stopLimitCompletesEarlyAndCancelsUpstream() throws IOException {
+        byte[] content = Files.readAllBytes(Paths.get(SAMPLE));
+        ChunkPublisher publisher = new ChunkPublisher(content, 64);
+        ValidationProcessor processor = new EDI834Validator().newProcessor(ValidationLimits.failFast());
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        assertTrue(subscriber.completed);
+        assertEquals(1, subscriber.errors().size());
+        assertTrue(publisher.cancelled);
+        assertTrue(publisher.delivered < publisher.chunkCount());
+    }
+
+    /**
+     * Delivers fixed-size slices of a byte array on the requesting thread.
+     */
+    private static final class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+        private final byte[] content;
+        private final int chunkSize;
+        int delivered;
+        boolean cancelled;
+
+        ChunkPublisher(byte[] content, int chunkSize) {
+            this.content = content;
+            this.chunkSize = chunkSize;
+        }
+
+        int chunkCount() {
+            return (content.length + chunkSize - 1) / chunkSize;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long demand;
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    demand += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && !cancelled && delivered < chunkCount()) {
+                        demand--;
+                        int from = delivered++ * chunkSize;
+                        int length = Math.min(chunkSize, content.length - from);
+                        subscriber.onNext(ByteBuffer.wrap(content, from, length));
+                    }
+                    emitting = false;
+                    if (!cancelled && delivered == chunkCount()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ValidationEvent> {
+        private final long initialDemand;
+        final List<ValidationEvent> events = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+
+        RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        List<String> errors() {
+            return events.stream().filter(event -> event.getType() == ValidationEvent.Type.ERROR)
+                .map(ValidationEvent::toString).collect(Collectors.toList());
+        }
+
+        List<String> segments() {
+            return events.stream().filter(event -> event.getType() == ValidationEvent.Type.SEGMENT)
+                .map(ValidationEvent::toString).collect(Collectors.toList());
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(ValidationEvent event) {
+            events.add(event);
+            if (initialDemand == 1) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
\ No newline at end of file
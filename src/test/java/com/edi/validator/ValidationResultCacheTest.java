@@ -0,0 +1,132 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationResultCacheTest {
+    private static final String INTERCHANGE =
+        "ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n"
+        + "INS*Y*00*030*XN*A*E**FT*N*D8*20230101*N~\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void repeatSubmissionReturnsStoredResult() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        ValidationResultCache cache = ValidationResultCache.open(folder.newFolder("cache").toPath());
+        File file = folder.newFile("partner.edi");
+        Files.write(file.toPath(), INTERCHANGE.getBytes(StandardCharsets.ISO_8859_1));
+        List<ValidationError> expected = validator.validate(file.getPath());
+
+        ValidationContext first = new ValidationContext();
+        assertEquals(expected.toString(), validator.validate(file.getPath(), first, cache).toString());
+        ValidationContext second = new ValidationContext();
+        assertEquals(expected.toString(), validator.validate(file.getPath(), second, cache).toString());
+        assertEquals(first.getSegmentCount(), second.getSegmentCount());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // Other limits or other content are different results
+        validator.validate(file.getPath(), new ValidationContext(ValidationLimits.failFast()), cache);
+        Files.write(file.toPath(), (INTERCHANGE + "DMG*D8*19800101*M~\n").getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(validator.validate(file.getPath()).toString(), validator.validate(file.getPath(), cache).toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedResultsOverSizeLimit() throws IOException {
+        Path directory = folder.newFolder("cache").toPath();
+        List<ValidationError> errors = Collections.singletonList(
+            new ValidationError("INS", "Relationship Code", "Invalid relationship code: 00", 2));
+        ValidationResultCache cache = ValidationResultCache.open(directory, Long.MAX_VALUE);
+        cache.put("a", errors, 2);
+        long entrySize = cache.getSize();
+
+        cache = ValidationResultCache.open(directory, entrySize * 2);
+        cache.put("b", errors, 2);
+        assertNotNull(cache.get("a"));
+        cache.put("c", errors, 2);
+
+        assertNull(cache.get("b"));
+        assertEquals(errors.get(0).getMessage(), cache.get("a").getErrors().get(0).getMessage());
+        assertNotNull(cache.get("c"));
+        assertFalse(Files.exists(directory.resolve("b.result")));
+        assertTrue(cache.getSize() <= entrySize * 2);
+    }
+
+    @Test
+    public void oversizedElementIsStoredAndReturned() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        Path directory = folder.newFolder("cache").toPath();
+        ValidationResultCache cache = ValidationResultCache.open(directory);
+        File file = folder.newFile("partner.edi");
+        // An SSN of 70,000 characters, quoted in full by its error
+        Files.write(file.toPath(), (INTERCHANGE + "NM1*IL*1*DOE*JOHN****34*" + "9".repeat(70_000) + "~\n")
+            .getBytes(StandardCharsets.ISO_8859_1));
+        String expected = validator.validate(file.getPath()).toString();
+
+        assertEquals(expected, validator.validate(file.getPath(), cache).toString());
+        assertEquals(expected, validator.validate(file.getPath(), cache).toString());
+        assertEquals(1, cache.getHits());
+        try (Stream<Path> children = Files.list(directory)) {
+            assertTrue(children.allMatch(path -> path.toString().endsWith(".result")));
+        }
+    }
+
+    @Test
+    public void resultThatCannotBeStoredIsStillReturned() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        Path directory = folder.newFolder("cache").toPath();
+        ValidationResultCache cache = ValidationResultCache.open(directory);
+        File file = folder.newFile("partner.edi");
+        Files.write(file.toPath(), INTERCHANGE.getBytes(StandardCharsets.ISO_8859_1));
+        Files.delete(directory);
+
+        assertEquals(validator.validate(file.getPath()).toString(), validator.validate(file.getPath(), cache).toString());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void fileWrittenDuringValidationIsNotStored() throws IOException {
+        File file = folder.newFile("partner.edi");
+        Files.write(file.toPath(), INTERCHANGE.getBytes(StandardCharsets.ISO_8859_1));
+        // Appends to the file after its hash pass, as a sender still writing it would
+        EDIValidator validator = new EDI834Validator() {
+            @Override
+            protected void validateRequiredSegments(ValidationContext context) {
+                super.validateRequiredSegments(context);
+                try {
+                    Files.write(file.toPath(), "DMG*D8*19800101*M~\n".getBytes(StandardCharsets.ISO_8859_1),
+                        StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        ValidationResultCache cache = ValidationResultCache.open(folder.newFolder("cache").toPath());
+
+        validator.validate(file.getPath(), cache);
+        assertEquals(0, cache.getSize());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.edi.validator;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ValidationSourceTest {
+    private static final String SAMPLE = "data/sample-834Dental.edi";
+
+    @Test
+    public void everySourceMatchesFileValidation() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+        List<String> expected = render(validator.validate(SAMPLE));
+        byte[] content = Files.readAllBytes(Paths.get(SAMPLE));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, render(validator.validate(content)));
+        assertEquals(expected, render(validator.validate(new ByteArrayInputStream(content))));
+        assertEquals(expected, render(validator.validate(Channels.newChannel(new ByteArrayInputStream(content)))));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        assertEquals(expected, render(validator.validate(direct)));
+        assertEquals(0, direct.position());
+        assertEquals(expected, render(validator.validate(ByteBuffer.wrap(content).asReadOnlyBuffer())));
+    }
+
+    @Test
+    public void heapBuffersAreReadFromTheirPositionInPlace() {
+        EDIValidator validator = new EDI834Validator();
+        String isa = "ISA*00*          *00*          *ZZ*NYSTATE        *ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~";
+        byte[] content = ("GARBAGE~" + isa + "GS*BE*NYSTATE*RECEIVER*20230101*1200*1*X*005010X220A1~").getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.wrap(content, 8, content.length - 8).slice();
+
+        List<String> fromBuffer = render(validator.validate(buffer));
+        List<String> fromArray = render(validator.validate(SegmentTokenizer.wrap(content, 8, content.length - 8),
+            new ValidationContext()));
+
+        assertEquals(fromArray, fromBuffer);
+        assertFalse(fromBuffer.stream().anyMatch(error -> error.contains("GARBAGE")));
+        assertEquals(0, buffer.position());
+    }
+
+    private static List<String> render(List<ValidationError> errors) {
+        return errors.stream().map(ValidationError::toString).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.edi.validator;
+
+import com.edi.validator.interfaces.EDISegmentValidator;
+import com.edi.validator.interfaces.PartnerRules;
+import com.edi.validator.model.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValidatorRegistryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void discoversBaseValidatorsAndPartnerRules() {
+        ValidatorRegistry registry = ValidatorRegistry.load();
+
+        assertEquals(27, registry.getValidators().size());
+        assertTrue(registry.getValidators().get("SV8") instanceof SV8SegmentValidator);
+        assertEquals(1, registry.getPartnerProfiles().size());
+        assertEquals("NY", registry.profileFor("NYSTATE").getName());
+        assertSame(registry.getDefaultProfile(), registry.profileFor("Z10950"));
+        assertSame(registry.getValidators().get("INS"), registry.profileFor("NYSTATE").getValidators().get("INS"));
+    }
+
+    @Test
+    public void partnerRulesRunOnlyOnThatPartnersInterchanges() throws IOException {
+        EDIValidator validator = new EDI834Validator(ValidatorRegistry.of(EDISegmentValidatorFactory.getValidators(),
+            Collections.singletonList(new AcmeRules())));
+
+        List<String> acme = errorFields(validator, interchange("ACME"));
+        List<String> other = errorFields(validator, interchange("OTHER"));
+
+        assertEquals(Collections.singletonList("Sender ID"), acme);
+        assertTrue(other.isEmpty());
+    }
+
+    @Test
+    public void newYorkRulesCheckOnlyTheGroupSenderOfNewYorkInterchanges() throws IOException {
+        EDIValidator validator = new EDI834Validator();
+
+        // Other senders run the base validators alone and are not rejected
+        assertTrue(senderErrors(validator, interchange("ACMECORP")).isEmpty());
+        assertTrue(senderErrors(validator, interchange("NYSTATE")).isEmpty());
+
+        List<ValidationError> found = senderErrors(validator, interchange("NYSTATE", "ACMECORP"));
+        assertEquals(1, found.size());
+        assertEquals("GS", found.get(0).getSegmentCode());
+        assertEquals("Invalid sender ID: ACMECORP (must start with NY)", found.get(0).getMessage());
+    }
+
+    private static List<ValidationError> senderErrors(EDIValidator validator, File file) {
+        return validator.validate(file.getPath()).stream()
+            .filter(error -> "Sender ID".equals(error.getField()))
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> errorFields(EDIValidator validator, File file) {
+        List<ValidationError> errors = validator.validate(file.getPath());
+        return errors.stream()
+            .filter(error -> "GS".equals(error.getSegmentCode()))
+            .map(ValidationError::getField)
+            .collect(Collectors.toList());
+    }
+
+    private File interchange(String sender) throws IOException {
+        return interchange(sender, sender);
+    }
+
+    private File interchange(String sender, String groupSender) throws IOException {
+        String isaSender = String.format("%-15s", sender);
+        String content = "ISA*00*          *00*          *ZZ*" + isaSender + "*ZZ*RECEIVER       *230101*1200*^*00501*000000001*0*P*:~\n"
+            + "GS*BE*" + groupSender + "*RECEIVER*20230101*1200*1*X*005010X220A1~\n"
+            + "ST*834*0001*005010X220A1~\n";
+        File file = folder.newFile(sender + "-" + groupSender + ".edi");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+
+    private static class AcmeRules implements PartnerRules {
+        @Override
+        public String getPartnerName() {
+            return "ACME";
+        }
+
+        @Override
+        public boolean appliesTo(String senderId) {
+            return "ACME".equals(senderId);
+        }
+
+        @Override
+        public List<EDISegmentValidator> getValidators() {
+            return Collections.singletonList(new SenderIdValidator("GS", 2, "ACME-"));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.GenericSegment;
+import com.edi.validator.model.ValidationError;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CodeListTest {
+    @Test
+    public void numericRangeMatchesOnlyPaddedCodesOfTheRightWidth() {
+        CodeList codes = CodeList.builder().addNumericRange(1, 999, 3).build();
+
+        assertEquals(999, codes.size());
+        assertTrue(codes.contains("001"));
+        assertTrue(codes.contains("999"));
+        assertFalse(codes.contains("000"));
+        assertFalse(codes.contains("1"));
+        assertFalse(codes.contains("0010"));
+        assertFalse(codes.contains("0A1"));
+    }
+
+    @Test
+    public void mixedLengthCodesAreMatchedExactly() {
+        CodeList codes = CodeList.of("41", "40", "ACV", "IAE", "IN", "PE", "PR", "TV");
+        EDISegment segment = segment("N1*ACV*NAME*FI*IAEX**IN");
+
+        assertTrue(codes.contains(segment, 1));
+        assertFalse(codes.contains(segment, 4));
+        assertFalse(codes.contains(segment, 5));
+        assertTrue(codes.contains(segment, 6));
+        assertFalse(codes.contains(segment, 7));
+    }
+
+    @Test
+    public void pairRangeBuildsTwoCharacterTable() {
+        CodeList codes = CodeList.builder()
+            .addNumericRange(18, 99, 2)
+            .addPairRange('A', 'Z', '1', '9')
+            .build();
+        EDISegment segment = segment("INS*Y*A1*Z0*17*99");
+
+        assertTrue(codes.contains(segment, 2));
+        assertFalse(codes.contains(segment, 3));
+        assertFalse(codes.contains(segment, 4));
+        assertTrue(codes.contains(segment, 5));
+    }
+
+    @Test
+    public void ruleReportsElementValueOnlyWhenConditionHolds() {
+        ElementRule[] rules = {
+            ElementRule.of("REF", 2, "SSN", Formats.NINE_DIGITS, "Invalid SSN format in REF segment: ")
+                .when(1, "0F"),
+            ElementRule.of("REF", 3, "Description", CodeList.of("X"), "Invalid description: ", " (must be X)")
+                .optional()
+        };
+        List<ValidationError> errors = new ArrayList<>();
+
+        ElementRule.applyAll(rules, segment("REF*1L*12345"), errors::add);
+        assertTrue(errors.isEmpty());
+
+        ElementRule.applyAll(rules, segment("REF*0F*12345*Y"), errors::add);
+        assertEquals(2, errors.size());
+        assertEquals("Invalid SSN format in REF segment: 12345", errors.get(0).getMessage());
+        assertEquals("Invalid description: Y (must be X)", errors.get(1).getMessage());
+    }
+
+    private static EDISegment segment(String line) {
+        return new GenericSegment(line.substring(0, line.indexOf('*')), line, 1);
+    }
+}
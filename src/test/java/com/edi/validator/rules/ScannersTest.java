@@ -0,0 +1,90 @@
+package com.edi.validator.rules;
+
+import com.edi.validator.DTPSegmentValidator;
+import com.edi.validator.EDISegmentFactory;
+import com.edi.validator.model.EDISegment;
+import com.edi.validator.model.ValidationError;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScannersTest {
+    @Test
+    public void datesMustExistInTheCalendar() {
+        assertTrue(date("20230228"));
+        assertFalse(date("20230229"));
+        assertTrue(date("20240229"));
+        assertTrue(date("20000229"));
+        assertFalse(date("19000229"));
+        assertFalse(date("20230231"));
+        assertFalse(date("20231301"));
+        assertFalse(date("20230100"));
+        assertFalse(date("2023AB01"));
+        assertFalse(date("2023010"));
+
+        assertTrue(Scanners.isShortDate(bytes("240229"), 0, 6));
+        assertFalse(Scanners.isShortDate(bytes("230229"), 0, 6));
+    }
+
+    @Test
+    public void timesRangesAndNumbersAreScannedInPlace() {
+        byte[] data = bytes("x2359*2400*1260*20230101-20231231*20231231-20230101*12.50*12.5*.50*12.");
+
+        assertTrue(Scanners.isTime(data, 1, 5));
+        assertFalse(Scanners.isTime(data, 6, 10));
+        assertFalse(Scanners.isTime(data, 11, 15));
+        assertTrue(Scanners.isDateRange(data, 16, 33));
+        assertFalse(Scanners.isDateRange(data, 34, 51));
+        assertTrue(Scanners.isDecimal(data, 52, 57, 2, 2));
+        assertFalse(Scanners.isDecimal(data, 58, 62, 2, 2));
+        assertTrue(Scanners.isDecimal(data, 58, 62, 1, 2));
+        assertFalse(Scanners.isDecimal(data, 63, 66, 2, 2));
+        assertFalse(Scanners.isDecimal(data, 67, 70, 1, 2));
+        assertEquals(2359, Scanners.parseDigits(data, 1, 5));
+        assertEquals(-1, Scanners.parseDigits(data, 0, 5));
+    }
+
+    @Test
+    public void dtpDateFollowsItsQualifier() {
+        assertTrue(errors("DTP*348*D8*20230101").isEmpty());
+        assertTrue(errors("DTP*348*RD8*20230101-20231231").isEmpty());
+        assertEquals(1, errors("DTP*348*D8*20230231").size());
+        assertEquals(1, errors("DTP*348*RD8*20230101").size());
+        assertEquals("Date", errors("DTP*348*RD8*20231231-20230101").get(0).getField());
+    }
+
+    @Test
+    public void dateWithoutKnownQualifierIsCheckedAsD8() {
+        assertTrue(dateErrors("DTP*348*XX*20230101").isEmpty());
+        assertEquals(1, dateErrors("DTP*348**20230231").size());
+        assertEquals(1, dateErrors("DTP*348*XX*2023AB01").size());
+    }
+
+    private static List<ValidationError> dateErrors(String line) {
+        List<ValidationError> errors = errors(line);
+        errors.removeIf(error -> !"Date".equals(error.getField()));
+        return errors;
+    }
+
+    private static boolean date(String value) {
+        byte[] data = bytes("*" + value + "*");
+        return Scanners.isDate(data, 1, data.length - 1);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static List<ValidationError> errors(String line) {
+        EDISegment segment = EDISegmentFactory.createSegment("DTP", line, 1);
+        List<ValidationError> errors = new ArrayList<>();
+        new DTPSegmentValidator().validate(segment, errors::add);
+        return errors;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.edi.validator.structure;
+
+import com.edi.validator.model.ValidationError;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoopStructureTest {
+    private static final List<String> TAGS = new ArrayList<>(X220A1.INTERCHANGE.getTags());
+    private static final LoopStructure STRUCTURE = LoopStructure.compile(X220A1.INTERCHANGE, TAGS::indexOf, TAGS.size());
+
+    private static final String HEADER = "ISA GS ST BGN DTP N1 N1 ";
+    private static final String TRAILER = " SE GE IEA";
+
+    @Test
+    public void wellFormedTransactionHasNoErrors() {
+        assertTrue(walk(HEADER + "INS REF NM1 DMG HD DTP AMT LX NM1 PLA LS LX N1 REF LE "
+            + "INS REF REF NM1 NM1 HD DTP HD DTP" + TRAILER + " ISA GS ST BGN N1 N1 N1 INS REF NM1" + TRAILER).isEmpty());
+    }
+
+    @Test
+    public void outOfOrderAndMissingSegmentsAreReported() {
+        assertEquals(Arrays.asList("13 AMT Unexpected AMT segment in loop 2300",
+            "15 NM1 Missing required NM1 segment in loop 2310"),
+            messages(walk("ISA GS ST BGN N1 N1 INS REF NM1 HD DTP REF AMT LX PLA" + TRAILER)));
+        assertEquals(Arrays.asList("7 INS Missing required loop 2000"),
+            messages(walk("ISA GS ST BGN N1 N1" + TRAILER)));
+        assertEquals(Arrays.asList("10 SE Missing required SE segment in loop ST/SE",
+            "10 GE Missing required GE segment in loop GS/GE", "10 IEA Missing required IEA segment in loop ISA/IEA"),
+            messages(walk(HEADER + "INS REF NM1")));
+        assertEquals(Arrays.asList("1 INS Unexpected INS segment before ISA"), messages(walk("INS")));
+    }
+
+    @Test
+    public void repeatLimitsAreCheckedPerLoopIteration() {
+        String member = "INS REF NM1 HD DTP DTP DTP DTP DTP DTP ";
+        assertTrue(walk(HEADER + member + member + "SE GE IEA").isEmpty());
+        assertEquals(Arrays.asList("18 DTP DTP segment repeats more than 6 times in loop 2300"),
+            messages(walk(HEADER + member + "DTP" + TRAILER)));
+        assertEquals(Arrays.asList("10 N1 Loop 1000C repeats more than 2 times"),
+            messages(walk(HEADER + "N1 N1 N1 INS REF NM1" + TRAILER)));
+    }
+
+    /**
+     * Walks space-separated tags, numbering segments from 1.
+     */
+    private static List<ValidationError> walk(String tags) {
+        List<ValidationError> errors = new ArrayList<>();
+        LoopStructure.Walker walker = STRUCTURE.newWalker();
+        String[] segments = tags.split(" ");
+        for (int i = 0; i < segments.length; i++) {
+            walker.accept(TAGS.indexOf(segments[i]), segments[i], i + 1, errors::add);
+        }
+        walker.endOfInput(segments.length, errors::add);
+        return errors;
+    }
+
+    private static List<String> messages(List<ValidationError> errors) {
+        return errors.stream()
+            .map(error -> error.getLineNumber() + " " + error.getSegmentCode() + " " + error.getMessage())
+            .collect(Collectors.toList());
+    }
+}
\ No newline at end of file